@@ -0,0 +1,50 @@
+package lk.acpt.demo.benchmarks;
+
+import lk.acpt.demo.dto.CourseDTO;
+import lk.acpt.demo.entity.Course;
+import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.mapper.CourseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** The course conversions behind CourseController, for a course with six modules. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseMappingBenchmark {
+
+    private final CourseMapper courseMapper = new CourseMapper();
+    private Course course;
+    private CourseDTO dto;
+    private Trainer trainer;
+
+    @Setup
+    public void setUp() {
+        course = Fixtures.course(1);
+        dto = Fixtures.courseDto(1);
+        trainer = course.getTrainer();
+    }
+
+    @Benchmark
+    public CourseDTO toDto() {
+        return courseMapper.toDto(course);
+    }
+
+    @Benchmark
+    public Course toEntity() {
+        return courseMapper.toEntity(dto, trainer);
+    }
+}
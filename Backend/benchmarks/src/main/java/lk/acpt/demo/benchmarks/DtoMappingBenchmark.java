@@ -0,0 +1,82 @@
+package lk.acpt.demo.benchmarks;
+
+import lk.acpt.demo.config.ModelMapperConfig;
+import lk.acpt.demo.dto.ApplicationDTO;
+import lk.acpt.demo.dto.EmployerDTO;
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.entity.Application;
+import lk.acpt.demo.entity.Employer;
+import lk.acpt.demo.entity.Job;
+import lk.acpt.demo.mapper.ApplicationMapper;
+import lk.acpt.demo.mapper.EmployerMapper;
+import lk.acpt.demo.mapper.JobMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** One entity row to its DTO, through the configured ModelMapper and through the hand-written mappers. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private final JobMapper jobMapper = new JobMapper();
+    private final ApplicationMapper applicationMapper = new ApplicationMapper();
+    private final EmployerMapper employerMapper = new EmployerMapper();
+
+    private Job job;
+    private Application application;
+    private Employer employer;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        job = Fixtures.job(1);
+        application = Fixtures.application(1);
+        employer = Fixtures.employer(1);
+    }
+
+    @Benchmark
+    public JobDTO jobWithModelMapper() {
+        return modelMapper.map(job, JobDTO.class);
+    }
+
+    @Benchmark
+    public JobDTO jobWithMapper() {
+        return jobMapper.toDto(job);
+    }
+
+    @Benchmark
+    public ApplicationDTO applicationWithModelMapper() {
+        return modelMapper.map(application, ApplicationDTO.class);
+    }
+
+    @Benchmark
+    public ApplicationDTO applicationWithMapper() {
+        return applicationMapper.toDto(application);
+    }
+
+    @Benchmark
+    public EmployerDTO employerWithModelMapper() {
+        return modelMapper.map(employer, EmployerDTO.class);
+    }
+
+    @Benchmark
+    public EmployerDTO employerWithMapper() {
+        return employerMapper.toDto(employer);
+    }
+}
@@ -0,0 +1,107 @@
+package lk.acpt.demo.benchmarks;
+
+import lk.acpt.demo.dto.CourseDTO;
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.entity.Application;
+import lk.acpt.demo.entity.Course;
+import lk.acpt.demo.entity.CourseModule;
+import lk.acpt.demo.entity.Employer;
+import lk.acpt.demo.entity.Job;
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Realistically sized sample rows shared by the benchmarks. */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static User user(int id) {
+        return new User(id, "user" + id, "Nimal", "Silva", "user" + id + "@example.com", "c2VjcmV0", "jobseeker");
+    }
+
+    static Job job(int id) {
+        return new Job(id, "Senior Backend Engineer " + id,
+                "Design and build REST APIs for a job-matching platform. You will own services end to end, "
+                        + "from schema design to production monitoring, and mentor two junior engineers.",
+                "5+ years of Java, Spring Boot, JPA/Hibernate, MySQL, REST, Docker, CI/CD, unit testing",
+                (long) (id % 500), "Colombo", "full-time", "LKR 450,000 - 600,000",
+                LocalDateTime.of(2026, 12, 31, 17, 0), "Hybrid", "Information Technology");
+    }
+
+    static JobDTO jobDto(int id) {
+        Job job = job(id);
+        return new JobDTO(job.getId(), job.getTitle(), job.getDescription(), job.getRequirements(),
+                job.getEmployerId().intValue(), job.getLocation(), job.getJobTime(), job.getSalary(),
+                job.getDeadline(), job.getModality(), job.getCategory());
+    }
+
+    static List<JobDTO> jobDtos(int count) {
+        List<JobDTO> jobs = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            jobs.add(jobDto(i));
+        }
+        return jobs;
+    }
+
+    static Employer employer(int id) {
+        Employer employer = new Employer("Acme Software", "/uploads/profile/e" + id + ".png",
+                "/uploads/company-logos/acme.png", "Colombo", "We build hiring software for the region.",
+                "Software", "50-100", "https://acme.example");
+        employer.setId(id);
+        employer.setUsername("employer" + id);
+        employer.setFirstName("Kamala");
+        employer.setLastName("Perera");
+        employer.setEmail("employer" + id + "@example.com");
+        employer.setPassword("c2VjcmV0");
+        employer.setRole("employer");
+        return employer;
+    }
+
+    static JobSeeker jobSeeker(int id) {
+        JobSeeker seeker = new JobSeeker("/uploads/cv/cv" + id + ".pdf", "/uploads/profile/s" + id + ".png",
+                "Backend developer", "Java, Spring Boot, MySQL, Docker", "3 years at a fintech startup");
+        seeker.setId(id);
+        seeker.setRole("jobseeker");
+        return seeker;
+    }
+
+    static Application application(int id) {
+        return new Application(id, jobSeeker(id), job(id), "pending");
+    }
+
+    static Course course(int id) {
+        Trainer trainer = new Trainer();
+        trainer.setId(id);
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle("Spring Boot in Practice");
+        course.setDescription("Build and ship production-ready REST services with Spring Boot and JPA.");
+        course.setDuration("8 weeks");
+        course.setLevel("Intermediate");
+        course.setCategory("Software Development");
+        course.setPrerequisites(List.of("Java basics", "SQL basics", "Git"));
+        course.setCreatedAt(LocalDateTime.of(2026, 1, 15, 9, 30));
+        course.setTrainer(trainer);
+        List<CourseModule> modules = new ArrayList<>();
+        for (long m = 1; m <= 6; m++) {
+            modules.add(new CourseModule(m, "Module " + m, "Hands-on module covering one layer of the stack.", "1 week", course));
+        }
+        course.setModules(modules);
+        return course;
+    }
+
+    static CourseDTO courseDto(int id) {
+        Course course = course(id);
+        List<CourseDTO.CourseModuleDTO> modules = course.getModules().stream()
+                .map(m -> new CourseDTO.CourseModuleDTO(m.getId(), m.getTitle(), m.getDescription(), m.getDuration()))
+                .toList();
+        return new CourseDTO(null, course.getTitle(), course.getDescription(), course.getDuration(), course.getLevel(),
+                course.getCategory(), course.getPrerequisites(), modules, course.getCreatedAt(), course.getTrainer().getId(), null);
+    }
+}
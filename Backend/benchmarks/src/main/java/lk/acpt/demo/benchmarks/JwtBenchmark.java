@@ -0,0 +1,77 @@
+package lk.acpt.demo.benchmarks;
+
+import lk.acpt.demo.entity.User;
+import lk.acpt.demo.util.JWTTokenGenerator;
+import lk.acpt.demo.util.JwtKeyRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. verifyCachedToken is the steady state of one
+ * session; verifyUncachedToken cycles through more distinct tokens than the
+ * verified-token cache holds, so nearly every call checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 50_000;
+
+    private JWTTokenGenerator generator;
+    private User user;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Map.of("app.jwt.keys.bench", secret)));
+        JwtKeyRing keyRing = new JwtKeyRing(environment, "bench", "jwt-keys.properties", Duration.ofSeconds(30));
+        generator = new JWTTokenGenerator(keyRing);
+        user = Fixtures.user(1);
+        token = generator.generateToken(user);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = generator.generateToken(Fixtures.user(i));
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return generator.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean verifyCachedToken() {
+        return generator.verifyToken(token);
+    }
+
+    @Benchmark
+    public boolean verifyUncachedToken() {
+        String candidate = tokens[next];
+        next = next + 1 == DISTINCT_TOKENS ? 0 : next + 1;
+        return generator.verifyToken(candidate);
+    }
+}
@@ -0,0 +1,98 @@
+package lk.acpt.demo.benchmarks;
+
+import lk.acpt.demo.JobSkillPlatformApplication;
+import lk.acpt.demo.dto.UserLoginResponseDTO;
+import lk.acpt.demo.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.login against an in-memory H2 database holding a growing number of
+ * users. With the unique username index the time per login should stay flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "secret";
+    private static final int INSERT_BATCH = 1_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JobSkillPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:login;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        // application.properties pins the MySQL dialect
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--app.jwt.active-key-id=bench",
+                        "--app.jwt.keys.bench=" + Base64.getEncoder().encodeToString(new byte[32]),
+                        "--logging.level.root=WARN");
+        insertUsers(context.getBean(JdbcTemplate.class));
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserLoginResponseDTO login() {
+        String username = "user" + ThreadLocalRandom.current().nextInt(users);
+        return userService.login(username, PASSWORD);
+    }
+
+    private void insertUsers(JdbcTemplate jdbcTemplate) {
+        String encodedPassword = Base64.getEncoder().encodeToString(PASSWORD.getBytes());
+        // Job seekers carry the TEXT columns that made full-table logins expensive
+        String sql = "insert into user (dtype, username, first_name, last_name, email, password, role, about, skills, experience) "
+                + "values ('JobSeeker', ?, 'Nimal', 'Silva', ?, ?, 'jobseeker', ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < users; i++) {
+            batch.add(new Object[]{"user" + i, "user" + i + "@example.com", encodedPassword,
+                    "Backend developer with a focus on APIs and data.",
+                    "Java, Spring Boot, MySQL, Docker, Kubernetes",
+                    "Three years building payment services."});
+            if (batch.size() == INSERT_BATCH || i == users - 1) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
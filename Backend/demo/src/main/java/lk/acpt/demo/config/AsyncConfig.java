@@ -0,0 +1,42 @@
+package lk.acpt.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+// Class proxies, like the rest of the AOP in Boot, so listeners on async services stay visible
+@EnableAsync(proxyTargetClass = true)
+public class AsyncConfig {
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    // Decoding a large image takes tens of megabytes, so only a few run at once. Work that does not fit in the
+    // queue is dropped: a missing thumbnail is generated again the first time somebody asks for it.
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailExecutor(@Value("${app.thumbnails.threads:2}") int threads,
+                                                    @Value("${app.thumbnails.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("thumbnail-", threads, queueCapacity);
+    }
+
+    // One thread by default, so the index sees a seeker's updates in the order they were made. A dropped job
+    // leaves the CV out of candidate search until the seeker changes their profile or the application restarts.
+    @Bean
+    public ThreadPoolTaskExecutor resumeTextExecutor(@Value("${app.resume-text.threads:1}") int threads,
+                                                     @Value("${app.resume-text.queue-capacity:500}") int queueCapacity) {
+        return boundedExecutor("resume-text-", threads, queueCapacity);
+    }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler((task, pool) -> log.warn("{}queue is full, skipping a job", threadNamePrefix));
+        return executor;
+    }
+}
@@ -0,0 +1,89 @@
+package lk.acpt.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lk.acpt.demo.util.AuthenticatedUser;
+import lk.acpt.demo.util.JWTTokenGenerator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Authenticates every /api request once, from the raw token in the
+ * Authorization header, before Spring reads the body or parses a multipart
+ * upload. Rejected requests get an empty 401. Accepted requests carry the
+ * resolved {@link AuthenticatedUser} as a request attribute.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    // Endpoints that were reachable without a token before authentication moved here
+    private static final List<PublicEndpoint> PUBLIC_ENDPOINTS = List.of(
+            new PublicEndpoint("POST", "/api/user/register"),
+            new PublicEndpoint("POST", "/api/user/login"),
+            new PublicEndpoint("POST", "/api/employers"),
+            new PublicEndpoint("POST", "/api/trainers"),
+            new PublicEndpoint("POST", "/api/job-seekers"),
+            new PublicEndpoint(null, "/api/files/"));
+
+    private final JWTTokenGenerator jwtTokenGenerator;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final DefaultCorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    public JwtAuthenticationFilter(JWTTokenGenerator jwtTokenGenerator, CorsConfigurationSource corsConfigurationSource) {
+        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.corsConfigurationSource = corsConfigurationSource;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (PublicEndpoint endpoint : PUBLIC_ENDPOINTS) {
+            if (endpoint.matches(request.getMethod(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<AuthenticatedUser> user = jwtTokenGenerator.authenticate(request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (user.isEmpty()) {
+            reject(request, response);
+            return;
+        }
+        request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user.get());
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Add CORS headers so the browser lets the SPA see the 401 rather than a network error
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    private record PublicEndpoint(String method, String path) {
+        boolean matches(String requestMethod, String requestPath) {
+            if (method != null && !method.equals(requestMethod)) {
+                return false;
+            }
+            return path.endsWith("/") ? requestPath.startsWith(path) : path.equals(requestPath);
+        }
+    }
+}
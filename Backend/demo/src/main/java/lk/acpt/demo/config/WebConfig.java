@@ -1,14 +1,82 @@
 package lk.acpt.demo.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import lk.acpt.demo.monitoring.SqlStatisticsInterceptor;
+import lk.acpt.demo.storage.FileStorage;
+import lk.acpt.demo.util.JWTTokenGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    private final SqlStatisticsInterceptor sqlStatisticsInterceptor;
+    private final FileStorage fileStorage;
+    private final String uploadsDir;
+
+    public WebConfig(SqlStatisticsInterceptor sqlStatisticsInterceptor, FileStorage fileStorage,
+                     @Value("${app.uploads.dir:${user.dir}/uploads}") String uploadsDir) {
+        this.sqlStatisticsInterceptor = sqlStatisticsInterceptor;
+        this.fileStorage = fileStorage;
+        this.uploadsDir = uploadsDir;
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(
+            JWTTokenGenerator jwtTokenGenerator, UrlBasedCorsConfigurationSource filterCorsConfigurationSource) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                new JwtAuthenticationFilter(jwtTokenGenerator, filterCorsConfigurationSource));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of Spring's own filters so a rejected request never has its body read
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatisticsInterceptor).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadPath = System.getProperty("user.dir") + "/uploads/";
+        String uploadPath = uploadsDir + "/";
+
+        // Content-addressed uploads: a URL always names the same bytes, so it can be cached for good.
+        // They are read from whichever FileStorage is configured rather than from a fixed directory.
+        registry.addResourceHandler("/uploads/files/**")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(false)
+                .addResolver(new AbstractResourceResolver() {
+                    @Override
+                    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+                        try {
+                            Resource resource = fileStorage.resource("files/" + requestPath);
+                            return resource.exists() ? resource : null;
+                        } catch (IllegalArgumentException e) {
+                            return null;
+                        }
+                    }
+
+                    @Override
+                    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                                            ResourceResolverChain chain) {
+                        return resourceUrlPath;
+                    }
+                });
         
         // Serve profile pictures
         registry.addResourceHandler("/uploads/profile/**")
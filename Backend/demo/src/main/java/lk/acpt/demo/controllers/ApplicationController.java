@@ -1,19 +1,22 @@
 package lk.acpt.demo.controllers;
 
 import lk.acpt.demo.dto.ApplicationDTO;
+import lk.acpt.demo.dto.PageDTO;
 import lk.acpt.demo.entity.Application;
 import lk.acpt.demo.entity.Job;
 import lk.acpt.demo.entity.JobSeeker;
-import lk.acpt.demo.repositories.ApplicationRepository;
 import lk.acpt.demo.repositories.JobRepository;
 import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.service.ApplicationExportService;
 import lk.acpt.demo.service.ApplicationService;
-import lk.acpt.demo.util.JWTTokenGenerator;
-import org.modelmapper.ModelMapper;
+import lk.acpt.demo.mapper.ApplicationMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,137 +27,147 @@ import java.util.Optional;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
-    private final ApplicationRepository applicationRepository;
     private final JobRepository jobRepository;
     private final JobSeekerRepository jobSeekerRepository;
-    private final ModelMapper modelMapper;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final ApplicationMapper applicationMapper;
+    private final ApplicationExportService applicationExportService;
 
     @Autowired
-    public ApplicationController(ApplicationService applicationService, ApplicationRepository applicationRepository, 
-                                JobRepository jobRepository, JobSeekerRepository jobSeekerRepository,
-                                ModelMapper modelMapper, JWTTokenGenerator jwtTokenGenerator) {
+    public ApplicationController(ApplicationService applicationService, JobRepository jobRepository,
+                                JobSeekerRepository jobSeekerRepository, ApplicationMapper applicationMapper,
+                                ApplicationExportService applicationExportService) {
         this.applicationService = applicationService;
-        this.applicationRepository = applicationRepository;
         this.jobRepository = jobRepository;
         this.jobSeekerRepository = jobSeekerRepository;
-        this.modelMapper = modelMapper;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.applicationMapper = applicationMapper;
+        this.applicationExportService = applicationExportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ApplicationDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<ApplicationDTO> dtos = applicationService.getAllApplications().stream()
-                .map(app -> modelMapper.map(app, ApplicationDTO.class))
-                .toList();
-            return ResponseEntity.ok(dtos);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<List<ApplicationDTO>> getAll() {
+        return ResponseEntity.ok(applicationService.getApplicationSummaries());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApplicationDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            try {
-                Application app = applicationService.getApplicationById(id);
-                return ResponseEntity.ok(modelMapper.map(app, ApplicationDTO.class));
-            } catch (RuntimeException e) {
-                return ResponseEntity.notFound().build();
-            }
+    public ResponseEntity<ApplicationDTO> getById(@PathVariable Integer id) {
+        try {
+            Application app = applicationService.getApplicationById(id);
+            return ResponseEntity.ok(applicationMapper.toDto(app));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
     @PostMapping
-    public ResponseEntity<ApplicationDTO> create(@RequestBody ApplicationDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            try {
-                // Find the Job and JobSeeker entities
-                Optional<Job> job = jobRepository.findById(dto.getJobId());
-                Optional<JobSeeker> jobSeeker = jobSeekerRepository.findById(dto.getJobSeekerId());
-                
-                if (job.isEmpty() || jobSeeker.isEmpty()) {
-                    return ResponseEntity.badRequest().build();
-                }
-                
-                // Create the Application entity
-                Application app = new Application();
-                app.setJob(job.get());
-                app.setJobSeeker(jobSeeker.get());
-                app.setStatus(dto.getStatus() != null ? dto.getStatus() : "PENDING");
-                
-                // Save the application
-                Application savedApp = applicationService.createApplication(app);
-                ApplicationDTO savedDto = modelMapper.map(savedApp, ApplicationDTO.class);
-                
-                return new ResponseEntity<>(savedDto, HttpStatus.CREATED);
-            } catch (Exception e) {
+    public ResponseEntity<ApplicationDTO> create(@RequestBody ApplicationDTO dto) {
+        try {
+            // Find the Job and JobSeeker entities
+            Optional<Job> job = jobRepository.findById(dto.getJobId());
+            Optional<JobSeeker> jobSeeker = jobSeekerRepository.findById(dto.getJobSeekerId());
+            
+            if (job.isEmpty() || jobSeeker.isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
+            
+            // Create the Application entity
+            Application app = new Application();
+            app.setJob(job.get());
+            app.setJobSeeker(jobSeeker.get());
+            app.setStatus(dto.getStatus() != null ? dto.getStatus() : "PENDING");
+            
+            // Save the application
+            Application savedApp = applicationService.createApplication(app);
+            ApplicationDTO savedDto = applicationMapper.toDto(savedApp);
+            
+            return new ResponseEntity<>(savedDto, HttpStatus.CREATED);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApplicationDTO> update(@PathVariable Integer id, @RequestBody ApplicationDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            try {
-                // Find the existing application
-                Application existingApp = applicationService.getApplicationById(id);
-                
-                // Update the status (the most common update for applications)
-                if (dto.getStatus() != null) {
-                    existingApp.setStatus(dto.getStatus());
-                }
-                
-                // If jobId or jobSeekerId is provided, update the relationships
-                if (dto.getJobId() != null) {
-                    Optional<Job> job = jobRepository.findById(dto.getJobId());
-                    if (job.isPresent()) {
-                        existingApp.setJob(job.get());
-                    }
+    public ResponseEntity<ApplicationDTO> update(@PathVariable Integer id, @RequestBody ApplicationDTO dto) {
+        try {
+            // Find the existing application
+            Application existingApp = applicationService.getApplicationById(id);
+            
+            // Update the status (the most common update for applications)
+            if (dto.getStatus() != null) {
+                existingApp.setStatus(dto.getStatus());
+            }
+            
+            // If jobId or jobSeekerId is provided, update the relationships
+            if (dto.getJobId() != null) {
+                Optional<Job> job = jobRepository.findById(dto.getJobId());
+                if (job.isPresent()) {
+                    existingApp.setJob(job.get());
                 }
-                
-                if (dto.getJobSeekerId() != null) {
-                    Optional<JobSeeker> jobSeeker = jobSeekerRepository.findById(dto.getJobSeekerId());
-                    if (jobSeeker.isPresent()) {
-                        existingApp.setJobSeeker(jobSeeker.get());
-                    }
+            }
+            
+            if (dto.getJobSeekerId() != null) {
+                Optional<JobSeeker> jobSeeker = jobSeekerRepository.findById(dto.getJobSeekerId());
+                if (jobSeeker.isPresent()) {
+                    existingApp.setJobSeeker(jobSeeker.get());
                 }
-                
-                Application updatedApp = applicationService.updateApplication(id, existingApp);
-                ApplicationDTO updatedDto = modelMapper.map(updatedApp, ApplicationDTO.class);
-                
-                return ResponseEntity.ok(updatedDto);
-            } catch (RuntimeException e) {
-                return ResponseEntity.notFound().build();
             }
+            
+            Application updatedApp = applicationService.updateApplication(id, existingApp);
+            ApplicationDTO updatedDto = applicationMapper.toDto(updatedApp);
+            
+            return ResponseEntity.ok(updatedDto);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            try {
-                applicationService.deleteApplication(id);
-                return ResponseEntity.noContent().build();
-            } catch (RuntimeException e) {
-                return ResponseEntity.notFound().build();
-            }
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        try {
+            applicationService.deleteApplication(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
     
     @GetMapping("/jobseeker/{jobSeekerId}")
-    public ResponseEntity<List<ApplicationDTO>> getByJobSeeker(@PathVariable Integer jobSeekerId, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<ApplicationDTO> dtos = applicationRepository.findByJobSeeker_Id(jobSeekerId).stream()
-                .map(app -> modelMapper.map(app, ApplicationDTO.class))
-                .toList();
-            return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<ApplicationDTO>> getByJobSeeker(@PathVariable Integer jobSeekerId) {
+        return ResponseEntity.ok(applicationService.getApplicationSummariesByJobSeeker(jobSeekerId));
+    }
+
+    @GetMapping("/job/{jobId}")
+    public ResponseEntity<PageDTO<ApplicationDTO>> getByJob(
+            @PathVariable Integer jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(applicationService.getApplicationSummariesByJob(jobId, page, size));
+    }
+
+    @GetMapping("/employer/{employerId}")
+    public ResponseEntity<PageDTO<ApplicationDTO>> getByEmployer(
+            @PathVariable Long employerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(applicationService.getApplicationSummariesByEmployer(employerId, page, size));
+    }
+
+    @GetMapping("/employer/{employerId}/export")
+    public ResponseEntity<StreamingResponseBody> exportByEmployer(
+            @PathVariable Long employerId,
+            @RequestParam(required = false) Integer jobId,
+            @RequestParam(defaultValue = "csv") String format) {
+        ApplicationExportService.Format exportFormat;
+        try {
+            exportFormat = ApplicationExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        String fileName = "applicants-employer-" + employerId + (jobId != null ? "-job-" + jobId : "")
+                + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> applicationExportService.exportApplicants(employerId, jobId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
 }
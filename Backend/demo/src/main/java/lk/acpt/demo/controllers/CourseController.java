@@ -2,19 +2,21 @@ package lk.acpt.demo.controllers;
 
 import lk.acpt.demo.dto.CourseDTO;
 import lk.acpt.demo.entity.Course;
-import lk.acpt.demo.entity.CourseModule;
 import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.mapper.CourseMapper;
 import lk.acpt.demo.repositories.CourseRepository;
 import lk.acpt.demo.repositories.TrainerRepository;
-import lk.acpt.demo.util.JWTTokenGenerator;
+import lk.acpt.demo.service.CourseService;
+import lk.acpt.demo.service.ResourceVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @CrossOrigin
 @RestController
@@ -22,139 +24,84 @@ import java.util.stream.Collectors;
 public class CourseController {
     private final CourseRepository courseRepository;
     private final TrainerRepository trainerRepository;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final CourseMapper courseMapper;
+    private final CourseService courseService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public CourseController(CourseRepository courseRepository, TrainerRepository trainerRepository, 
-                           JWTTokenGenerator jwtTokenGenerator) {
+    public CourseController(CourseRepository courseRepository, TrainerRepository trainerRepository, CourseMapper courseMapper,
+                            CourseService courseService, ResourceVersionService resourceVersionService) {
         this.courseRepository = courseRepository;
         this.trainerRepository = trainerRepository;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.courseMapper = courseMapper;
+        this.courseService = courseService;
+        this.resourceVersionService = resourceVersionService;
     }
 
+    // A client holding the current ETag gets a 304 before the catalog is read or serialized
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<CourseDTO> dtos = courseRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<CourseDTO>> getAll(WebRequest request) {
+        String etag = resourceVersionService.etag(ResourceVersionService.COURSES);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(courseService.getCourseCatalog());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return courseRepository.findById(id)
-                .map(course -> ResponseEntity.ok(convertToDTO(course)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<CourseDTO> getById(@PathVariable Integer id, WebRequest request) {
+        String etag = resourceVersionService.etag(ResourceVersionService.COURSES);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return courseService.getCourseDetails(id)
+            .map(course -> ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(course))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<CourseDTO> create(@RequestBody CourseDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            try {
-                Course course = convertToEntity(dto);
-                Course saved = courseRepository.save(course);
-                return new ResponseEntity<>(convertToDTO(saved), HttpStatus.CREATED);
-            } catch (Exception e) {
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-            }
+    public ResponseEntity<CourseDTO> create(@RequestBody CourseDTO dto) {
+        try {
+            Course course = convertToEntity(dto);
+            Course saved = courseRepository.save(course);
+            resourceVersionService.bump(ResourceVersionService.COURSES);
+            return new ResponseEntity<>(courseMapper.toDto(saved), HttpStatus.CREATED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<CourseDTO> update(@PathVariable Integer id, @RequestBody CourseDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            Optional<Course> existingCourse = courseRepository.findById(id);
-            if (existingCourse.isPresent()) {
-                try {
-                    Course course = convertToEntity(dto);
-                    course.setId(id);
-                    Course updated = courseRepository.save(course);
-                    return ResponseEntity.ok(convertToDTO(updated));
-                } catch (Exception e) {
-                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-                }
+    public ResponseEntity<CourseDTO> update(@PathVariable Integer id, @RequestBody CourseDTO dto) {
+        Optional<Course> existingCourse = courseRepository.findById(id);
+        if (existingCourse.isPresent()) {
+            try {
+                Course course = convertToEntity(dto);
+                course.setId(id);
+                Course updated = courseRepository.save(course);
+                resourceVersionService.bump(ResourceVersionService.COURSES);
+                return ResponseEntity.ok(courseMapper.toDto(updated));
+            } catch (Exception e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
-            return ResponseEntity.notFound().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (courseRepository.existsById(id)) {
-                courseRepository.deleteById(id);
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (courseRepository.existsById(id)) {
+            courseRepository.deleteById(id);
+            resourceVersionService.bump(ResourceVersionService.COURSES);
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-    }
-
-    private CourseDTO convertToDTO(Course course) {
-        CourseDTO dto = new CourseDTO();
-        dto.setId(course.getId());
-        dto.setTitle(course.getTitle());
-        dto.setDescription(course.getDescription());
-        dto.setDuration(course.getDuration());
-        dto.setLevel(course.getLevel());
-        dto.setCategory(course.getCategory());
-        dto.setPrerequisites(course.getPrerequisites());
-        dto.setCreatedAt(course.getCreatedAt());
-        dto.setTrainerId(course.getTrainer() != null ? course.getTrainer().getId() : null);
-        
-        if (course.getModules() != null) {
-            dto.setModules(course.getModules().stream()
-                .map(module -> {
-                    CourseDTO.CourseModuleDTO moduleDTO = new CourseDTO.CourseModuleDTO();
-                    moduleDTO.setId(module.getId());
-                    moduleDTO.setTitle(module.getTitle());
-                    moduleDTO.setDescription(module.getDescription());
-                    moduleDTO.setDuration(module.getDuration());
-                    return moduleDTO;
-                })
-                .collect(Collectors.toList()));
-        }
-        
-        return dto;
+        return ResponseEntity.notFound().build();
     }
 
     private Course convertToEntity(CourseDTO dto) {
-        Course course = new Course();
-        course.setTitle(dto.getTitle());
-        course.setDescription(dto.getDescription());
-        course.setDuration(dto.getDuration());
-        course.setLevel(dto.getLevel());
-        course.setCategory(dto.getCategory());
-        course.setPrerequisites(dto.getPrerequisites());
-        course.setCreatedAt(dto.getCreatedAt());
-        
-        if (dto.getTrainerId() != null) {
-            Optional<Trainer> trainer = trainerRepository.findById(dto.getTrainerId());
-            trainer.ifPresent(course::setTrainer);
-        }
-        
-        if (dto.getModules() != null) {
-            List<CourseModule> modules = dto.getModules().stream()
-                .map(moduleDTO -> {
-                    CourseModule module = new CourseModule();
-                    module.setTitle(moduleDTO.getTitle());
-                    module.setDescription(moduleDTO.getDescription());
-                    module.setDuration(moduleDTO.getDuration());
-                    module.setCourse(course);
-                    return module;
-                })
-                .collect(Collectors.toList());
-            course.setModules(modules);
-        }
-        
-        return course;
+        Trainer trainer = dto.getTrainerId() != null
+            ? trainerRepository.findById(dto.getTrainerId()).orElse(null)
+            : null;
+        return courseMapper.toEntity(dto, trainer);
     }
 }
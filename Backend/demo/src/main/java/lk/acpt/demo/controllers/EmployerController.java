@@ -1,12 +1,13 @@
 package lk.acpt.demo.controllers;
 
+import lk.acpt.demo.dto.EmployerDashboardDTO;
 import lk.acpt.demo.dto.EmployerDTO;
 import lk.acpt.demo.entity.Employer;
 import lk.acpt.demo.repositories.EmployerRepository;
 import lk.acpt.demo.service.EmployerService;
-import lk.acpt.demo.util.JWTTokenGenerator;
-import org.modelmapper.ModelMapper;
+import lk.acpt.demo.mapper.EmployerMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,95 +20,85 @@ import java.util.List;
 @RequestMapping("/api/employers")
 public class EmployerController {
     private static EmployerRepository employerRepository;
-    private final ModelMapper modelMapper;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final EmployerMapper employerMapper;
     private final EmployerService employerService;
 
     @Autowired
-    public EmployerController(EmployerRepository employerRepository, ModelMapper modelMapper, lk.acpt.demo.util.JWTTokenGenerator jwtTokenGenerator, EmployerService employerService) {
+    public EmployerController(EmployerRepository employerRepository, EmployerMapper employerMapper, EmployerService employerService) {
         EmployerController.employerRepository = employerRepository;
-        this.modelMapper = modelMapper;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.employerMapper = employerMapper;
         this.employerService = employerService;
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployerDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<EmployerDTO> dtos = employerRepository.findAll().stream()
-                .map(employer -> modelMapper.map(employer, EmployerDTO.class))
-                .toList();
-            return ResponseEntity.ok(dtos);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<List<EmployerDTO>> getAll() {
+        List<EmployerDTO> dtos = employerRepository.findAll().stream()
+            .map(employerMapper::toDto)
+            .toList();
+        return ResponseEntity.ok(dtos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployerDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return employerRepository.findById(id)
-                .map(employer -> ResponseEntity.ok(modelMapper.map(employer, EmployerDTO.class)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<EmployerDTO> getById(@PathVariable Integer id) {
+        return employerRepository.findById(id)
+            .map(employer -> ResponseEntity.ok(employerMapper.toDto(employer)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<EmployerDashboardDTO> getDashboard(@PathVariable Integer id) {
+        return employerService.getDashboard(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<EmployerDTO> create(@RequestBody EmployerDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        Employer employer = modelMapper.map(dto, Employer.class);
-        Employer saved = employerService.createEmployer(employer);
-        EmployerDTO savedDto = modelMapper.map(saved, EmployerDTO.class);
+    public ResponseEntity<EmployerDTO> create(@RequestBody EmployerDTO dto) {
+        Employer employer = employerMapper.toEntity(dto);
+        Employer saved;
+        try {
+            saved = employerService.createEmployer(employer);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        EmployerDTO savedDto = employerMapper.toDto(saved);
         return new ResponseEntity<>(savedDto, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<EmployerDTO> update(@PathVariable Integer id, @RequestBody EmployerDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return employerRepository.findById(id)
-                .map(employer -> {
-                    modelMapper.map(dto, employer);
-                    return ResponseEntity.ok(modelMapper.map(employerRepository.save(employer), EmployerDTO.class));
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<EmployerDTO> update(@PathVariable Integer id, @RequestBody EmployerDTO dto) {
+        return employerRepository.findById(id)
+            .map(employer -> {
+                employerMapper.copyToEntity(dto, employer);
+                return ResponseEntity.ok(employerMapper.toDto(employerRepository.save(employer)));
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (employerRepository.existsById(id)) {
-                employerRepository.deleteById(id);
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (employerRepository.existsById(id)) {
+            employerService.deleteEmployer(id);
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/{id}/profile-picture")
     public ResponseEntity<EmployerDTO> uploadProfilePicture(
             @PathVariable Integer id,
-            @RequestParam("file") MultipartFile file,
-            @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (!jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            @RequestParam("file") MultipartFile file) {
         Employer updated = employerService.uploadProfilePicture(id, file);
-        EmployerDTO dto = modelMapper.map(updated, EmployerDTO.class);
+        EmployerDTO dto = employerMapper.toDto(updated);
         return ResponseEntity.ok(dto);
     }
 
     @PostMapping("/{id}/company-logo")
     public ResponseEntity<EmployerDTO> uploadCompanyLogo(
             @PathVariable Integer id,
-            @RequestParam("file") MultipartFile file,
-            @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (!jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            @RequestParam("file") MultipartFile file) {
         Employer updated = employerService.uploadCompanyLogo(id, file);
-        EmployerDTO dto = modelMapper.map(updated, EmployerDTO.class);
+        EmployerDTO dto = employerMapper.toDto(updated);
         return ResponseEntity.ok(dto);
     }
 }
@@ -3,7 +3,7 @@ package lk.acpt.demo.controllers;
 import lk.acpt.demo.dto.EnrollmentDTO;
 import lk.acpt.demo.entity.Enrollment;
 import lk.acpt.demo.repositories.EnrollmentRepository;
-import lk.acpt.demo.util.JWTTokenGenerator;
+import lk.acpt.demo.mapper.EnrollmentMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,68 +18,53 @@ import java.util.List;
 public class EnrollmentController {
     private static EnrollmentRepository enrollmentRepository;
     private final ModelMapper modelMapper;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final EnrollmentMapper enrollmentMapper;
 
     @Autowired
-    public EnrollmentController(EnrollmentRepository enrollmentRepository, ModelMapper modelMapper, JWTTokenGenerator jwtTokenGenerator) {
+    public EnrollmentController(EnrollmentRepository enrollmentRepository, ModelMapper modelMapper, EnrollmentMapper enrollmentMapper) {
         EnrollmentController.enrollmentRepository = enrollmentRepository;
         this.modelMapper = modelMapper;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.enrollmentMapper = enrollmentMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<EnrollmentDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<EnrollmentDTO> dtos = enrollmentRepository.findAll().stream()
-                .map(enrollment -> modelMapper.map(enrollment, EnrollmentDTO.class))
-                .toList();
-            return ResponseEntity.ok(dtos);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<List<EnrollmentDTO>> getAll() {
+        List<EnrollmentDTO> dtos = enrollmentRepository.findAll().stream()
+            .map(enrollmentMapper::toDto)
+            .toList();
+        return ResponseEntity.ok(dtos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EnrollmentDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return enrollmentRepository.findById(id)
-                .map(enrollment -> ResponseEntity.ok(modelMapper.map(enrollment, EnrollmentDTO.class)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<EnrollmentDTO> getById(@PathVariable Integer id) {
+        return enrollmentRepository.findById(id)
+            .map(enrollment -> ResponseEntity.ok(enrollmentMapper.toDto(enrollment)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<EnrollmentDTO> create(@RequestBody EnrollmentDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            Enrollment enrollment = modelMapper.map(dto, Enrollment.class);
-            EnrollmentDTO saved = modelMapper.map(enrollmentRepository.save(enrollment), EnrollmentDTO.class);
-            return new ResponseEntity<>(saved, HttpStatus.CREATED);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<EnrollmentDTO> create(@RequestBody EnrollmentDTO dto) {
+        Enrollment enrollment = modelMapper.map(dto, Enrollment.class);
+        EnrollmentDTO saved = enrollmentMapper.toDto(enrollmentRepository.save(enrollment));
+        return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<EnrollmentDTO> update(@PathVariable Integer id, @RequestBody EnrollmentDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return enrollmentRepository.findById(id)
-                .map(enrollment -> {
-                    modelMapper.map(dto, enrollment);
-                    return ResponseEntity.ok(modelMapper.map(enrollmentRepository.save(enrollment), EnrollmentDTO.class));
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<EnrollmentDTO> update(@PathVariable Integer id, @RequestBody EnrollmentDTO dto) {
+        return enrollmentRepository.findById(id)
+            .map(enrollment -> {
+                modelMapper.map(dto, enrollment);
+                return ResponseEntity.ok(enrollmentMapper.toDto(enrollmentRepository.save(enrollment)));
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (enrollmentRepository.existsById(id)) {
-                enrollmentRepository.deleteById(id);
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (enrollmentRepository.existsById(id)) {
+            enrollmentRepository.deleteById(id);
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 }
@@ -1,13 +1,30 @@
 package lk.acpt.demo.controllers;
 
+import lk.acpt.demo.dto.BulkJobImportDTO;
+import lk.acpt.demo.dto.CandidateDTO;
+import lk.acpt.demo.dto.CursorPageDTO;
 import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.dto.JobSearchCriteria;
+import lk.acpt.demo.dto.JobSearchHitDTO;
+import lk.acpt.demo.dto.PageDTO;
+import lk.acpt.demo.dto.TrendingJobDTO;
+import lk.acpt.demo.service.ResourceVersionService;
+import lk.acpt.demo.services.JobImportService;
 import lk.acpt.demo.services.JobService;
-import lk.acpt.demo.util.JWTTokenGenerator;
+import lk.acpt.demo.stats.JobViewTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @CrossOrigin
@@ -15,60 +32,133 @@ import java.util.List;
 @RequestMapping("/api/jobs")
 public class JobController {
     private final JobService jobService;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final JobViewTracker jobViewTracker;
+    private final JobImportService jobImportService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public JobController(JobService jobService, JWTTokenGenerator jwtTokenGenerator) {
+    public JobController(JobService jobService, JobViewTracker jobViewTracker, JobImportService jobImportService,
+                         ResourceVersionService resourceVersionService) {
         this.jobService = jobService;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.jobViewTracker = jobViewTracker;
+        this.jobImportService = jobImportService;
+        this.resourceVersionService = resourceVersionService;
     }
 
+    // A client holding the current ETag gets a 304 before any job is loaded or serialized
     @GetMapping
-    public ResponseEntity<List<JobDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<JobDTO> dtos = jobService.getAllJobs();
-            return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<JobDTO>> getAll(WebRequest request) {
+        String etag = resourceVersionService.etag(ResourceVersionService.JOBS);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        List<JobDTO> dtos = jobService.getAllJobs();
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(dtos);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<JobDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return jobService.getJobById(id)
-                .map(job -> ResponseEntity.ok(job))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<JobDTO>> search(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String modality,
+            @RequestParam(required = false) String jobTime,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Long employerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        // Browsers keep one ETag per URL, so the filters and cursor need not be part of it
+        String etag = resourceVersionService.etag(ResourceVersionService.JOBS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        JobSearchCriteria criteria = new JobSearchCriteria(category, modality, jobTime, location,
+                employerId, deadlineFrom, deadlineTo, sort);
+        try {
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                    .body(jobService.searchJobs(criteria, cursor, size));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    }
+
+    @GetMapping("/keyword-search")
+    public ResponseEntity<List<JobSearchHitDTO>> keywordSearch(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(jobService.keywordSearch(query, limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingJobDTO>> trending(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(jobService.getTrendingJobs(limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDTO> getById(@PathVariable Integer id) {
+        return jobService.getJobById(id)
+            .map(job -> {
+                jobViewTracker.recordView(id);
+                return ResponseEntity.ok(job);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/candidates")
+    public ResponseEntity<PageDTO<CandidateDTO>> getCandidates(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return jobService.getRankedCandidates(id, page, size)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<JobDTO> create(@RequestBody JobDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            JobDTO saved = jobService.createJob(dto);
-            return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    public ResponseEntity<JobDTO> create(@RequestBody JobDTO dto) {
+        JobDTO saved = jobService.createJob(dto);
+        return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkJobImportDTO> bulkCreate(@RequestBody List<JobDTO> jobs) {
+        try {
+            return importResult(jobImportService.importJobs(jobs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<JobDTO> update(@PathVariable Integer id, @RequestBody JobDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return jobService.updateJob(id, dto)
-                .map(job -> ResponseEntity.ok(job))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkJobImportDTO> bulkCreateCsv(@RequestBody String csv) {
+        try {
+            return importResult(jobImportService.importJobsCsv(new StringReader(csv)));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    }
+
+    private static ResponseEntity<BulkJobImportDTO> importResult(BulkJobImportDTO result) {
+        // Nothing is inserted unless every row is valid
+        return result.getRejected() > 0
+            ? ResponseEntity.unprocessableEntity().body(result)
+            : new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<JobDTO> update(@PathVariable Integer id, @RequestBody JobDTO dto) {
+        return jobService.updateJob(id, dto)
+            .map(job -> ResponseEntity.ok(job))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (jobService.deleteJob(id)) {
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (jobService.deleteJob(id)) {
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 }
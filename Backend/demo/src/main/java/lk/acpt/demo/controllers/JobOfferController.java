@@ -5,7 +5,7 @@ import lk.acpt.demo.entity.JobOffer;
 import lk.acpt.demo.repositories.EmployerRepository;
 import lk.acpt.demo.repositories.JobOfferRepository;
 import lk.acpt.demo.repositories.JobRepository;
-import lk.acpt.demo.util.JWTTokenGenerator;
+import lk.acpt.demo.mapper.JobOfferMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,92 +21,62 @@ public class JobOfferController {
     private static EmployerRepository employerRepository;
     private static JobRepository jobRepository;
     private final ModelMapper modelMapper;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final JobOfferMapper jobOfferMapper;
 
     @Autowired
-    public JobOfferController(JobOfferRepository jobOfferRepository, EmployerRepository employerRepository, JobRepository jobRepository, ModelMapper modelMapper, lk.acpt.demo.util.JWTTokenGenerator jwtTokenGenerator) {
+    public JobOfferController(JobOfferRepository jobOfferRepository, EmployerRepository employerRepository, JobRepository jobRepository, ModelMapper modelMapper, JobOfferMapper jobOfferMapper) {
         JobOfferController.jobOfferRepository = jobOfferRepository;
         JobOfferController.employerRepository = employerRepository;
         JobOfferController.jobRepository = jobRepository;
         this.modelMapper = modelMapper;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.jobOfferMapper = jobOfferMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<JobOfferDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<JobOfferDTO> dtos = jobOfferRepository.findAll().stream()
-                .map(offer -> {
-                    JobOfferDTO dto = modelMapper.map(offer, JobOfferDTO.class);
-                    if (offer.getJob() != null) dto.setJobId(offer.getJob().getId());
-                    if (offer.getEmployer() != null) dto.setEmployerId(offer.getEmployer().getId());
-                    return dto;
-                })
-                .toList();
-            return ResponseEntity.ok(dtos);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<List<JobOfferDTO>> getAll() {
+        List<JobOfferDTO> dtos = jobOfferRepository.findAll().stream()
+            .map(jobOfferMapper::toDto)
+            .toList();
+        return ResponseEntity.ok(dtos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JobOfferDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return jobOfferRepository.findById(id)
-                .map(offer -> {
-                    JobOfferDTO dto = modelMapper.map(offer, JobOfferDTO.class);
-                    if (offer.getJob() != null) dto.setJobId(offer.getJob().getId());
-                    if (offer.getEmployer() != null) dto.setEmployerId(offer.getEmployer().getId());
-                    return ResponseEntity.ok(dto);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<JobOfferDTO> getById(@PathVariable Integer id) {
+        return jobOfferRepository.findById(id)
+            .map(offer -> ResponseEntity.ok(jobOfferMapper.toDto(offer)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<JobOfferDTO> create(@RequestBody JobOfferDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            JobOffer offer = modelMapper.map(dto, JobOffer.class);
-            if (dto.getJobId() != null) {
-                offer.setJob(jobRepository.findById(dto.getJobId()).orElse(null));
-            }
-            JobOfferDTO saved = modelMapper.map(jobOfferRepository.save(offer), JobOfferDTO.class);
-            if (offer.getJob() != null) saved.setJobId(offer.getJob().getId());
-            if (offer.getEmployer() != null) saved.setEmployerId(offer.getEmployer().getId());
-            return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    public ResponseEntity<JobOfferDTO> create(@RequestBody JobOfferDTO dto) {
+        JobOffer offer = modelMapper.map(dto, JobOffer.class);
+        if (dto.getJobId() != null) {
+            offer.setJob(jobRepository.findById(dto.getJobId()).orElse(null));
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        JobOfferDTO saved = jobOfferMapper.toDto(jobOfferRepository.save(offer));
+        return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<JobOfferDTO> update(@PathVariable Integer id, @RequestBody JobOfferDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return jobOfferRepository.findById(id)
-                .map(offer -> {
-                    modelMapper.map(dto, offer);
-                    if (dto.getJobId() != null) {
-                        offer.setJob(jobRepository.findById(dto.getJobId()).orElse(null));
-                    }
-                    JobOffer updated = jobOfferRepository.save(offer);
-                    JobOfferDTO updatedDto = modelMapper.map(updated, JobOfferDTO.class);
-                    if (updated.getJob() != null) updatedDto.setJobId(updated.getJob().getId());
-                    if (updated.getEmployer() != null) updatedDto.setEmployerId(updated.getEmployer().getId());
-                    return ResponseEntity.ok(updatedDto);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<JobOfferDTO> update(@PathVariable Integer id, @RequestBody JobOfferDTO dto) {
+        return jobOfferRepository.findById(id)
+            .map(offer -> {
+                modelMapper.map(dto, offer);
+                if (dto.getJobId() != null) {
+                    offer.setJob(jobRepository.findById(dto.getJobId()).orElse(null));
+                }
+                JobOffer updated = jobOfferRepository.save(offer);
+                return ResponseEntity.ok(jobOfferMapper.toDto(updated));
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (jobOfferRepository.existsById(id)) {
-                jobOfferRepository.deleteById(id);
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (jobOfferRepository.existsById(id)) {
+            jobOfferRepository.deleteById(id);
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 }
@@ -1,16 +1,21 @@
 package lk.acpt.demo.controllers;
 
+import lk.acpt.demo.dto.CandidateSearchHitDTO;
+import lk.acpt.demo.dto.JobRecommendationDTO;
 import lk.acpt.demo.dto.JobSeekerDTO;
 import lk.acpt.demo.entity.JobSeeker;
 import lk.acpt.demo.repositories.JobSeekerRepository;
-import lk.acpt.demo.util.JWTTokenGenerator;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import lk.acpt.demo.service.JobSeekerService;
+import lk.acpt.demo.service.ResumeTextService;
+import lk.acpt.demo.services.JobService;
+import lk.acpt.demo.mapper.JobSeekerMapper;
 
 import java.util.List;
 @CrossOrigin
@@ -19,84 +24,93 @@ import java.util.List;
 public class JobSeekerController {
     private static JobSeekerRepository jobSeekerRepository;
     private final ModelMapper modelMapper;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final JobSeekerMapper jobSeekerMapper;
     private final JobSeekerService jobSeekerService;
+    private final JobService jobService;
+    private final ResumeTextService resumeTextService;
 
     @Autowired
-    public JobSeekerController(JobSeekerRepository jobSeekerRepository, ModelMapper modelMapper, lk.acpt.demo.util.JWTTokenGenerator jwtTokenGenerator, JobSeekerService jobSeekerService) {
+    public JobSeekerController(JobSeekerRepository jobSeekerRepository, ModelMapper modelMapper, JobSeekerMapper jobSeekerMapper, JobSeekerService jobSeekerService, JobService jobService, ResumeTextService resumeTextService) {
         JobSeekerController.jobSeekerRepository = jobSeekerRepository;
         this.modelMapper = modelMapper;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.jobSeekerMapper = jobSeekerMapper;
         this.jobSeekerService = jobSeekerService;
+        this.jobService = jobService;
+        this.resumeTextService = resumeTextService;
     }
 
     @GetMapping
-    public ResponseEntity<List<JobSeekerDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<JobSeekerDTO> dtos = jobSeekerRepository.findAll().stream()
-                .map(seeker -> modelMapper.map(seeker, JobSeekerDTO.class))
-                .toList();
-            return ResponseEntity.ok(dtos);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<List<JobSeekerDTO>> getAll() {
+        List<JobSeekerDTO> dtos = jobSeekerRepository.findAll().stream()
+            .map(jobSeekerMapper::toDto)
+            .toList();
+        return ResponseEntity.ok(dtos);
+    }
+
+    // Ranks job seekers by their skills, experience and the text of their CV
+    @GetMapping("/search")
+    public ResponseEntity<List<CandidateSearchHitDTO>> search(@RequestParam("q") String query, @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(jobSeekerService.searchCandidates(query, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JobSeekerDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return jobSeekerRepository.findById(id)
-                .map(seeker -> ResponseEntity.ok(modelMapper.map(seeker, JobSeekerDTO.class)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<JobSeekerDTO> getById(@PathVariable Integer id) {
+        return jobSeekerRepository.findById(id)
+            .map(seeker -> ResponseEntity.ok(jobSeekerMapper.toDto(seeker)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/recommended-jobs")
+    public ResponseEntity<List<JobRecommendationDTO>> getRecommendedJobs(@PathVariable Integer id, @RequestParam(defaultValue = "10") int limit) {
+        return jobService.recommendJobs(id, limit)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping(consumes = {"multipart/form-data"})
     public ResponseEntity<JobSeekerDTO> create(
             @RequestPart("jobSeeker") JobSeekerDTO dto,
-            @RequestPart("file") MultipartFile file,
-            @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
+            @RequestPart("file") MultipartFile file) {
         // Registration should not require JWT
         JobSeeker seeker = modelMapper.map(dto, JobSeeker.class);
         // Ensure username is set before saving
         if (dto.getUsername() != null) {
             seeker.setUsername(dto.getUsername());
         }
-        JobSeeker saved = jobSeekerService.createJobSeeker(seeker, file);
-        JobSeekerDTO savedDto = modelMapper.map(saved, JobSeekerDTO.class);
+        JobSeeker saved;
+        try {
+            saved = jobSeekerService.createJobSeeker(seeker, file);
+        } catch (DataIntegrityViolationException e) {
+            // The username is taken; the CV stored for it is left to the orphan sweep
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        JobSeekerDTO savedDto = jobSeekerMapper.toDto(saved);
         return new ResponseEntity<>(savedDto, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<JobSeekerDTO> update(@PathVariable Integer id, @RequestBody JobSeekerDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return jobSeekerRepository.findById(id)
-                .map(seeker -> {
-                    modelMapper.map(dto, seeker);
-                    return ResponseEntity.ok(modelMapper.map(jobSeekerRepository.save(seeker), JobSeekerDTO.class));
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<JobSeekerDTO> update(@PathVariable Integer id, @RequestBody JobSeekerDTO dto) {
+        return jobSeekerRepository.findById(id)
+            .map(seeker -> {
+                modelMapper.map(dto, seeker);
+                JobSeeker saved = jobSeekerRepository.save(seeker);
+                resumeTextService.indexJobSeeker(saved.getId());
+                return ResponseEntity.ok(jobSeekerMapper.toDto(saved));
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (jobSeekerRepository.existsById(id)) {
-                jobSeekerRepository.deleteById(id);
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (jobSeekerRepository.existsById(id)) {
+            jobSeekerService.deleteJobSeeker(id);
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/{id}/upload-cv")
-    public ResponseEntity<?> uploadCv(@PathVariable Integer id, @RequestParam("file") MultipartFile file, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (!jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+    public ResponseEntity<?> uploadCv(@PathVariable Integer id, @RequestParam("file") MultipartFile file) {
         try {
             JobSeeker updated = jobSeekerService.uploadCv(id, file);
             return ResponseEntity.ok(updated);
@@ -108,13 +122,9 @@ public class JobSeekerController {
     @PostMapping("/{id}/profile-picture")
     public ResponseEntity<JobSeekerDTO> uploadProfilePicture(
             @PathVariable Integer id,
-            @RequestParam("file") MultipartFile file,
-            @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (!jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            @RequestParam("file") MultipartFile file) {
         JobSeeker updated = jobSeekerService.uploadProfilePicture(id, file);
-        JobSeekerDTO dto = modelMapper.map(updated, JobSeekerDTO.class);
+        JobSeekerDTO dto = jobSeekerMapper.toDto(updated);
         return ResponseEntity.ok(dto);
     }
 }
@@ -0,0 +1,58 @@
+package lk.acpt.demo.controllers;
+
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ThumbnailService;
+import lk.acpt.demo.storage.FileStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/uploads/thumbnails")
+public class ThumbnailController {
+    private final ThumbnailService thumbnailService;
+    private final FileStoreService fileStoreService;
+    private final FileStorage fileStorage;
+
+    @Autowired
+    public ThumbnailController(ThumbnailService thumbnailService, FileStoreService fileStoreService, FileStorage fileStorage) {
+        this.thumbnailService = thumbnailService;
+        this.fileStoreService = fileStoreService;
+        this.fileStorage = fileStorage;
+    }
+
+    // A variant is cached for good once it exists; until then the client is sent to the original, uncached,
+    // and the variant is queued in case the upload's own job was dropped or failed
+    @GetMapping("/{size}/{shard}/{hash}")
+    public ResponseEntity<Resource> get(@PathVariable int size, @PathVariable String shard, @PathVariable String hash) {
+        if (!hash.startsWith(shard)) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<String> thumbnail = thumbnailService.findThumbnail(hash, size);
+        if (thumbnail.isPresent()) {
+            MediaType type = thumbnail.get().endsWith(".png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG;
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .contentType(type)
+                    .body(fileStorage.resource(thumbnail.get()));
+        }
+        Optional<String> original = fileStoreService.findUrl(hash);
+        if (original.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        thumbnailService.generateThumbnails(original.get());
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                .location(URI.create(original.get()))
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+}
@@ -4,12 +4,13 @@ import lk.acpt.demo.dto.TrainerDTO;
 import lk.acpt.demo.entity.Trainer;
 import lk.acpt.demo.repositories.TrainerRepository;
 import lk.acpt.demo.service.TrainerService;
+import lk.acpt.demo.mapper.TrainerMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import lk.acpt.demo.util.JWTTokenGenerator;
 
 import java.util.List;
 @CrossOrigin
@@ -18,83 +19,72 @@ import java.util.List;
 public class TrainerController {
     private static TrainerRepository trainerRepository;
     private final ModelMapper modelMapper;
-    private final JWTTokenGenerator jwtTokenGenerator;
+    private final TrainerMapper trainerMapper;
     private final TrainerService trainerService;
 
     @Autowired
-    public TrainerController(TrainerRepository trainerRepository, ModelMapper modelMapper, JWTTokenGenerator jwtTokenGenerator, TrainerService trainerService) {
+    public TrainerController(TrainerRepository trainerRepository, ModelMapper modelMapper, TrainerMapper trainerMapper, TrainerService trainerService) {
         TrainerController.trainerRepository = trainerRepository;
         this.modelMapper = modelMapper;
-        this.jwtTokenGenerator = jwtTokenGenerator;
+        this.trainerMapper = trainerMapper;
         this.trainerService = trainerService;
     }
 
     @GetMapping
-    public ResponseEntity<List<TrainerDTO>> getAll(@RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            List<TrainerDTO> dtos = trainerRepository.findAll().stream()
-                .map(trainer -> modelMapper.map(trainer, TrainerDTO.class))
-                .toList();
-            return ResponseEntity.ok(dtos);
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<List<TrainerDTO>> getAll() {
+        List<TrainerDTO> dtos = trainerRepository.findAll().stream()
+            .map(trainerMapper::toDto)
+            .toList();
+        return ResponseEntity.ok(dtos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TrainerDTO> getById(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return trainerRepository.findById(id)
-                .map(trainer -> ResponseEntity.ok(modelMapper.map(trainer, TrainerDTO.class)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
-        }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<TrainerDTO> getById(@PathVariable Integer id) {
+        return trainerRepository.findById(id)
+            .map(trainer -> ResponseEntity.ok(trainerMapper.toDto(trainer)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<TrainerDTO> create(@RequestBody TrainerDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
+    public ResponseEntity<TrainerDTO> create(@RequestBody TrainerDTO dto) {
         Trainer trainer = modelMapper.map(dto, Trainer.class);
-        Trainer saved = trainerService.createTrainer(trainer);
-        TrainerDTO savedDto = modelMapper.map(saved, TrainerDTO.class);
+        Trainer saved;
+        try {
+            saved = trainerService.createTrainer(trainer);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        TrainerDTO savedDto = trainerMapper.toDto(saved);
         return new ResponseEntity<>(savedDto, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TrainerDTO> update(@PathVariable Integer id, @RequestBody TrainerDTO dto, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            try {
-                Trainer trainer = modelMapper.map(dto, Trainer.class);
-                Trainer updated = trainerService.updateTrainer(id, trainer);
-                TrainerDTO updatedDto = modelMapper.map(updated, TrainerDTO.class);
-                return ResponseEntity.ok(updatedDto);
-            } catch (RuntimeException e) {
-                return ResponseEntity.notFound().build();
-            }
+    public ResponseEntity<TrainerDTO> update(@PathVariable Integer id, @RequestBody TrainerDTO dto) {
+        try {
+            Trainer trainer = modelMapper.map(dto, Trainer.class);
+            Trainer updated = trainerService.updateTrainer(id, trainer);
+            TrainerDTO updatedDto = trainerMapper.toDto(updated);
+            return ResponseEntity.ok(updatedDto);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Integer id, @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            if (trainerRepository.existsById(id)) {
-                trainerRepository.deleteById(id);
-                return ResponseEntity.noContent().build();
-            }
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        if (trainerRepository.existsById(id)) {
+            trainerService.deleteTrainer(id);
+            return ResponseEntity.noContent().build();
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/{id}/profile-picture")
     public ResponseEntity<TrainerDTO> uploadProfilePicture(
             @PathVariable Integer id,
-            @RequestParam("file") org.springframework.web.multipart.MultipartFile file,
-            @RequestHeader(name = "Authorization", required = false) String authorizationHeader) {
-        if (!jwtTokenGenerator.verifyToken(authorizationHeader)) {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            @RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
         Trainer updated = trainerService.uploadProfilePicture(id, file);
-        TrainerDTO dto = modelMapper.map(updated, TrainerDTO.class);
+        TrainerDTO dto = trainerMapper.toDto(updated);
         return ResponseEntity.ok(dto);
     }
 }
@@ -6,9 +6,11 @@ import lk.acpt.demo.dto.UserRegisterDTO;
 import lk.acpt.demo.dto.UserLoginDTO;
 import lk.acpt.demo.dto.UserRegisterResponseDTO;
 import lk.acpt.demo.dto.UserLoginResponseDTO;
-import lk.acpt.demo.util.JWTTokenGenerator;
 import lk.acpt.demo.repositories.UserRepo;
+import lk.acpt.demo.mapper.UserDetailsMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.modelmapper.ModelMapper;
@@ -20,19 +22,28 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    @Autowired
-    private JWTTokenGenerator jwtTokenGenerator;
-
     @Autowired
     private UserRepo userRepo;
 
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private UserDetailsMapper userDetailsMapper;
+
     @PostMapping("/register")
     public ResponseEntity<UserRegisterResponseDTO> register(@RequestBody UserRegisterDTO userRegisterDTO) {
         User user = modelMapper.map(userRegisterDTO, User.class);
-        User registeredUser = userService.register(user);
+        User registeredUser;
+        try {
+            registeredUser = userService.register(user);
+        } catch (DataIntegrityViolationException e) {
+            // Another request took the username between the check and the insert
+            registeredUser = null;
+        }
+        if (registeredUser == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         UserRegisterResponseDTO response = modelMapper.map(registeredUser, UserRegisterResponseDTO.class);
         response.setStatus(registeredUser.getId() != null ? "registered" : "not registered");
         return ResponseEntity.ok(response);
@@ -40,34 +51,21 @@ public class UserController {
 
     @PostMapping("/login")
     public ResponseEntity<UserLoginResponseDTO> login(@RequestBody UserLoginDTO userLoginDTO) {
-        String token = userService.login(userLoginDTO.getUsername(), userLoginDTO.getPassword());
-        if (token != null) {
-            User user = userService.getUserByUsername(userLoginDTO.getUsername());
-            UserLoginResponseDTO response = modelMapper.map(user, UserLoginResponseDTO.class);
-            response.setToken(token);
-            response.setRole(user.getRole()); // Ensure role is set
+        UserLoginResponseDTO response = userService.login(userLoginDTO.getUsername(), userLoginDTO.getPassword());
+        if (response != null) {
             return ResponseEntity.ok(response);
         } else {
             return ResponseEntity.status(401).body(null);
         }
     }
 
-    @GetMapping("/all")
-    public ResponseEntity<Iterable<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
-    }
-
     @GetMapping("/userauth")
-    public ResponseEntity<UserDetailsDTO> userAuth(@RequestHeader("Authorization") String jwtToken, @RequestParam Integer id) {
-        boolean isValid = jwtTokenGenerator.verifyToken(jwtToken);
-        if (!isValid) {
-            return ResponseEntity.status(401).body(null);
-        }
+    public ResponseEntity<UserDetailsDTO> userAuth(@RequestParam Integer id) {
         User user = userRepo.findById(id).orElse(null);
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
-        UserDetailsDTO userDto = modelMapper.map(user, UserDetailsDTO.class);
+        UserDetailsDTO userDto = userDetailsMapper.toDto(user);
         return ResponseEntity.ok(userDto);
     }
 }
@@ -0,0 +1,41 @@
+package lk.acpt.demo.controllers;
+
+import lk.acpt.demo.dto.PageDTO;
+import lk.acpt.demo.dto.UserSummaryDTO;
+import lk.acpt.demo.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/api/users")
+public class UserDirectoryController {
+    private static final int MAX_IDS = 100;
+
+    private final UserService userService;
+
+    @Autowired
+    public UserDirectoryController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping
+    public ResponseEntity<PageDTO<UserSummaryDTO>> getDirectory(
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getUserDirectory(role, page, size));
+    }
+
+    // Looks up the users a page of something else refers to, e.g. the applicants on a page of applications
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserSummaryDTO>> getByIds(@RequestParam List<Integer> ids) {
+        if (ids.size() > MAX_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getUserSummaries(ids));
+    }
+}
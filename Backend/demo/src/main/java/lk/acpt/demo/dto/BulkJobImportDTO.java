@@ -0,0 +1,29 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkJobImportDTO {
+    private int received;
+    private int created;
+    private int rejected;
+    // One entry per submitted row, in order
+    private List<RowResultDTO> rows;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowResultDTO {
+        // 1-based; for CSV, the header line is not counted
+        private int row;
+        private boolean created;
+        private Integer jobId;
+        private List<String> errors;
+    }
+}
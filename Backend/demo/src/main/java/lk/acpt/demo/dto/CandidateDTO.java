@@ -0,0 +1,27 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandidateDTO {
+    private Integer applicationId;
+    private String status;
+    private Integer jobSeekerId;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String email;
+    // A thumbnail where one can be made
+    private String profilePictureUrl;
+    private String resumeUrl;
+    private String skills;
+    // Share of the job's skill terms the candidate lists, from 0 to 1
+    private double score;
+    private List<String> matchedSkills;
+}
@@ -0,0 +1,22 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandidateSearchHitDTO {
+    private Integer jobSeekerId;
+    private String firstName;
+    private String lastName;
+    // A thumbnail where one can be made
+    private String profilePictureUrl;
+    private String resumeUrl;
+    // The first 200 characters of the listed skills
+    private String skills;
+    private double score;
+    // HTML-escaped excerpt of the CV, experience or skills with matched terms wrapped in <mark>
+    private String snippet;
+}
@@ -21,6 +21,8 @@ public class CourseDTO {
     private List<CourseModuleDTO> modules;
     private LocalDateTime createdAt;
     private Integer trainerId;
+    // Filled in on reads only; writes go by trainerId
+    private TrainerSummaryDTO trainer;
     
     @Data
     @AllArgsConstructor
@@ -31,4 +33,16 @@ public class CourseDTO {
         private String description;
         private String duration;
     }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TrainerSummaryDTO {
+        private Integer id;
+        private String firstName;
+        private String lastName;
+        private String expertise;
+        // A thumbnail in the catalog
+        private String profilePictureUrl;
+    }
 }
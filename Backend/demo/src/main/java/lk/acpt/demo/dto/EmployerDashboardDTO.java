@@ -0,0 +1,41 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployerDashboardDTO {
+    private Integer employerId;
+    private String companyName;
+    private long jobCount;
+    // Jobs whose deadline has not passed, or that have none
+    private long openJobCount;
+    private long applicationCount;
+    // Distinct job seekers across all of the employer's jobs
+    private long applicantCount;
+    private Map<String, Long> applicationsByStatus;
+    // Newest first
+    private List<JobStatsDTO> jobs;
+    // Soonest first, open jobs only
+    private List<JobStatsDTO> upcomingDeadlines;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class JobStatsDTO {
+        private Integer jobId;
+        private String title;
+        private String location;
+        private String jobTime;
+        private LocalDateTime deadline;
+        private long applicationCount;
+        private Map<String, Long> applicationsByStatus;
+    }
+}
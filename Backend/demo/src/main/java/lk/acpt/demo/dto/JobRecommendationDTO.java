@@ -0,0 +1,16 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobRecommendationDTO {
+    private JobDTO job;
+    private double score;
+    private List<String> matchedSkills;
+}
@@ -0,0 +1,22 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSearchCriteria {
+    private String category;
+    private String modality;
+    private String jobTime;
+    private String location;
+    private Long employerId;
+    private LocalDateTime deadlineFrom;
+    private LocalDateTime deadlineTo;
+    // "newest" (id descending, the default) or "deadline" (soonest first)
+    private String sort;
+}
@@ -0,0 +1,15 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSearchHitDTO {
+    private JobDTO job;
+    private double score;
+    // HTML-escaped excerpt with matched terms wrapped in <mark>
+    private String snippet;
+}
@@ -0,0 +1,14 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrendingJobDTO {
+    private JobDTO job;
+    // Views, each counting half as much for every half-life that has passed since
+    private double score;
+}
@@ -0,0 +1,36 @@
+package lk.acpt.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Directory entry for any kind of user. Only the short columns are carried, and the
+ * long text fields are cut to their first 200 characters; the role-specific fields
+ * stay null for users of other roles.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDTO {
+    private Integer id;
+    private String username;
+    private String role;
+    private String firstName;
+    private String lastName;
+    private String email;
+    // Pictures point at thumbnails where one can be made
+    private String profilePictureUrl;
+    // Employers
+    private String companyName;
+    private String companyLogoUrl;
+    private String location;
+    // Job seekers
+    private String skills;
+    private String resumeUrl;
+    private String experience;
+    // Trainers
+    private String expertise;
+    // The start of a job seeker's about text or a trainer's bio
+    private String summary;
+}
@@ -14,6 +14,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_application_job", columnList = "job_id, id"),
+        @Index(name = "idx_application_job_seeker", columnList = "job_seeker_id, id")
+})
 public class Application {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
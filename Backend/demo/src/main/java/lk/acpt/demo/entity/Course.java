@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,6 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,15 +37,17 @@ public class Course {
     @ElementCollection
     @CollectionTable(name = "course_prerequisites", joinColumns = @JoinColumn(name = "course_id"))
     @Column(name = "prerequisite")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<String> prerequisites;
     
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<CourseModule> modules;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Trainer trainer;
     
     @PrePersist
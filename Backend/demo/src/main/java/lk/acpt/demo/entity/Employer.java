@@ -1,6 +1,7 @@
 package lk.acpt.demo.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,6 +16,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable(false)
 public class Employer extends User {
     private String companyName;
     private String profilePictureUrl;
@@ -16,6 +16,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_job_employer", columnList = "employerId, id"),
+        @Index(name = "idx_job_category", columnList = "category, id"),
+        @Index(name = "idx_job_modality", columnList = "modality, id"),
+        @Index(name = "idx_job_time", columnList = "jobTime, id"),
+        @Index(name = "idx_job_deadline", columnList = "deadline, id")
+})
 public class Job {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,6 @@
 package lk.acpt.demo.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import lombok.AllArgsConstructor;
@@ -17,6 +18,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable(false)
 public class JobSeeker extends User {
     private String resumeUrl;
     private String profilePictureUrl;
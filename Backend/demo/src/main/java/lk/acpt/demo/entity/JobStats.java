@@ -0,0 +1,24 @@
+package lk.acpt.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running view total of a job. Written only by {@link lk.acpt.demo.stats.JobViewTracker}
+ * in batched increments, never per request, so the job row itself is never locked for a view.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "job_stats")
+public class JobStats {
+    @Id
+    private Integer jobId;
+    private long viewCount;
+    private LocalDateTime lastViewedAt;
+}
@@ -0,0 +1,23 @@
+package lk.acpt.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter of a cacheable listing, such as "jobs" or "courses". Every write that changes
+ * the listing increments it through {@link lk.acpt.demo.service.ResourceVersionService}, and the
+ * listing's ETag is built from it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "resource_version")
+public class ResourceVersion {
+    @Id
+    @Column(length = 50)
+    private String name;
+    private long version;
+}
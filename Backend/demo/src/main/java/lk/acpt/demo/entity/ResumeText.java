@@ -0,0 +1,26 @@
+package lk.acpt.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Plain text extracted from an uploaded CV, keyed by the hash of the stored PDF. Seekers who upload the
+ * same file share the row, and the text is never extracted twice. Empty when the PDF holds no readable text.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "resume_text")
+public class ResumeText {
+    @Id
+    @Column(length = 64)
+    private String hash;
+    @Column(columnDefinition = "TEXT")
+    private String text;
+    private LocalDateTime extractedAt;
+}
@@ -0,0 +1,32 @@
+package lk.acpt.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One uploaded file, stored once under the SHA-256 of its content however many profiles use it.
+ * Maintained by {@link lk.acpt.demo.service.FileStoreService}; the file is deleted when the last
+ * reference to it is released.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "stored_file")
+public class StoredFile {
+    @Id
+    @Column(length = 64)
+    private String hash;
+    // Hash plus the extension of the first upload, which decides the Content-Type it is served with
+    private String fileName;
+    private long size;
+    private int referenceCount;
+    // A reference count the reconciler found higher than the profiles referencing the file; it is only lowered
+    // when the next run finds the same count again. Null when the last run found nothing to correct
+    private Integer suspectedCount;
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package lk.acpt.demo.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import lombok.Data;
@@ -13,6 +14,7 @@ import lombok.EqualsAndHashCode;
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Entity
+@Cacheable
 public class Trainer extends User {
     private String expertise;
     private String profilePictureUrl;
@@ -1,12 +1,19 @@
 package lk.acpt.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Project: Assignment 1 (COMP2003-Object Oriented Software Engineering)
@@ -15,16 +22,23 @@ import lombok.NoArgsConstructor;
  **/
 @Data
 @Entity
+// Users share one table, so the cache region is declared here; only Trainer opts in (see the subclasses)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_user_role", columnList = "role, id"))
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
+    // Schema update cannot add the unique index while duplicates exist; see UserRepo.findAllByUsername
+    @Column(unique = true)
     private String username;
     private String firstName;
     private String lastName;
     private String email;
+    // Accepted in request bodies, never written into a response
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String role; // e.g., "jobseeker", "employer", "admin"
 }
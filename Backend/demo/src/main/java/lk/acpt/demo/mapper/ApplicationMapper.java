@@ -0,0 +1,18 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.ApplicationDTO;
+import lk.acpt.demo.entity.Application;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ApplicationMapper {
+
+    public ApplicationDTO toDto(Application application) {
+        ApplicationDTO dto = new ApplicationDTO();
+        dto.setId(application.getId());
+        dto.setJobId(application.getJob() != null ? application.getJob().getId() : null);
+        dto.setJobSeekerId(application.getJobSeeker() != null ? application.getJobSeeker().getId() : null);
+        dto.setStatus(application.getStatus());
+        return dto;
+    }
+}
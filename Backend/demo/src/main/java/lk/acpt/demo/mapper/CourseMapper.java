@@ -0,0 +1,76 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.CourseDTO;
+import lk.acpt.demo.entity.Course;
+import lk.acpt.demo.entity.CourseModule;
+import lk.acpt.demo.entity.Trainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class CourseMapper {
+
+    public CourseDTO toDto(Course course) {
+        CourseDTO dto = new CourseDTO();
+        dto.setId(course.getId());
+        dto.setTitle(course.getTitle());
+        dto.setDescription(course.getDescription());
+        dto.setDuration(course.getDuration());
+        dto.setLevel(course.getLevel());
+        dto.setCategory(course.getCategory());
+        dto.setPrerequisites(course.getPrerequisites());
+        dto.setCreatedAt(course.getCreatedAt());
+        if (course.getTrainer() != null) {
+            Trainer trainer = course.getTrainer();
+            dto.setTrainerId(trainer.getId());
+            dto.setTrainer(new CourseDTO.TrainerSummaryDTO(trainer.getId(), trainer.getFirstName(),
+                    trainer.getLastName(), trainer.getExpertise(), trainer.getProfilePictureUrl()));
+        }
+        
+        if (course.getModules() != null) {
+            dto.setModules(course.getModules().stream()
+                .map(module -> {
+                    CourseDTO.CourseModuleDTO moduleDTO = new CourseDTO.CourseModuleDTO();
+                    moduleDTO.setId(module.getId());
+                    moduleDTO.setTitle(module.getTitle());
+                    moduleDTO.setDescription(module.getDescription());
+                    moduleDTO.setDuration(module.getDuration());
+                    return moduleDTO;
+                })
+                .collect(Collectors.toList()));
+        }
+        
+        return dto;
+    }
+
+    /** Builds a new course from the DTO; the trainer is looked up by the caller, and may be null. */
+    public Course toEntity(CourseDTO dto, Trainer trainer) {
+        Course course = new Course();
+        course.setTitle(dto.getTitle());
+        course.setDescription(dto.getDescription());
+        course.setDuration(dto.getDuration());
+        course.setLevel(dto.getLevel());
+        course.setCategory(dto.getCategory());
+        course.setPrerequisites(dto.getPrerequisites());
+        course.setCreatedAt(dto.getCreatedAt());
+        course.setTrainer(trainer);
+        
+        if (dto.getModules() != null) {
+            List<CourseModule> modules = dto.getModules().stream()
+                .map(moduleDTO -> {
+                    CourseModule module = new CourseModule();
+                    module.setTitle(moduleDTO.getTitle());
+                    module.setDescription(moduleDTO.getDescription());
+                    module.setDuration(moduleDTO.getDuration());
+                    module.setCourse(course);
+                    return module;
+                })
+                .collect(Collectors.toList());
+            course.setModules(modules);
+        }
+        
+        return course;
+    }
+}
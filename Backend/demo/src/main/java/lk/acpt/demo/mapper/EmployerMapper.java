@@ -0,0 +1,54 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.EmployerDTO;
+import lk.acpt.demo.entity.Employer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployerMapper {
+
+    public EmployerDTO toDto(Employer employer) {
+        EmployerDTO dto = new EmployerDTO();
+        dto.setId(employer.getId());
+        dto.setUsername(employer.getUsername());
+        dto.setFirstName(employer.getFirstName());
+        dto.setLastName(employer.getLastName());
+        dto.setCompany(employer.getCompanyName());
+        dto.setEmail(employer.getEmail());
+        dto.setRole(employer.getRole());
+        dto.setPassword(employer.getPassword());
+        dto.setProfilePictureUrl(employer.getProfilePictureUrl());
+        dto.setCompanyLogoUrl(employer.getCompanyLogoUrl());
+        dto.setLocation(employer.getLocation());
+        dto.setOverview(employer.getOverview());
+        dto.setIndustry(employer.getIndustry());
+        dto.setCompanySize(employer.getCompanySize());
+        dto.setWebsite(employer.getWebsite());
+        return dto;
+    }
+
+    public Employer toEntity(EmployerDTO dto) {
+        Employer employer = new Employer();
+        copyToEntity(dto, employer);
+        return employer;
+    }
+
+    /** Overwrites every mapped field of the employer, nulls included. */
+    public void copyToEntity(EmployerDTO dto, Employer employer) {
+        employer.setId(dto.getId());
+        employer.setUsername(dto.getUsername());
+        employer.setFirstName(dto.getFirstName());
+        employer.setLastName(dto.getLastName());
+        employer.setCompanyName(dto.getCompany());
+        employer.setEmail(dto.getEmail());
+        employer.setRole(dto.getRole());
+        employer.setPassword(dto.getPassword());
+        employer.setProfilePictureUrl(dto.getProfilePictureUrl());
+        employer.setCompanyLogoUrl(dto.getCompanyLogoUrl());
+        employer.setLocation(dto.getLocation());
+        employer.setOverview(dto.getOverview());
+        employer.setIndustry(dto.getIndustry());
+        employer.setCompanySize(dto.getCompanySize());
+        employer.setWebsite(dto.getWebsite());
+    }
+}
@@ -0,0 +1,16 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.EnrollmentDTO;
+import lk.acpt.demo.entity.Enrollment;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EnrollmentMapper {
+
+    // Only the id has a same-named counterpart; courseId and jobSeekerId have never been filled in
+    public EnrollmentDTO toDto(Enrollment enrollment) {
+        EnrollmentDTO dto = new EnrollmentDTO();
+        dto.setId(enrollment.getId());
+        return dto;
+    }
+}
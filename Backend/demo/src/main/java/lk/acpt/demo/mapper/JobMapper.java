@@ -0,0 +1,46 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.entity.Job;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JobMapper {
+
+    public JobDTO toDto(Job job) {
+        JobDTO dto = new JobDTO();
+        dto.setId(job.getId());
+        dto.setTitle(job.getTitle());
+        dto.setDescription(job.getDescription());
+        dto.setRequirements(job.getRequirements());
+        dto.setEmployerId(job.getEmployerId() != null ? job.getEmployerId().intValue() : null);
+        dto.setLocation(job.getLocation());
+        dto.setJobTime(job.getJobTime());
+        dto.setSalary(job.getSalary());
+        dto.setDeadline(job.getDeadline());
+        dto.setModality(job.getModality());
+        dto.setCategory(job.getCategory());
+        return dto;
+    }
+
+    public Job toEntity(JobDTO dto) {
+        Job job = new Job();
+        copyToEntity(dto, job);
+        return job;
+    }
+
+    /** Overwrites every mapped field of the job, nulls included. */
+    public void copyToEntity(JobDTO dto, Job job) {
+        job.setId(dto.getId());
+        job.setTitle(dto.getTitle());
+        job.setDescription(dto.getDescription());
+        job.setRequirements(dto.getRequirements());
+        job.setEmployerId(dto.getEmployerId() != null ? dto.getEmployerId().longValue() : null);
+        job.setLocation(dto.getLocation());
+        job.setJobTime(dto.getJobTime());
+        job.setSalary(dto.getSalary());
+        job.setDeadline(dto.getDeadline());
+        job.setModality(dto.getModality());
+        job.setCategory(dto.getCategory());
+    }
+}
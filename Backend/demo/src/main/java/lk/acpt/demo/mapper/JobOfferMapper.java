@@ -0,0 +1,19 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.JobOfferDTO;
+import lk.acpt.demo.entity.JobOffer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JobOfferMapper {
+
+    public JobOfferDTO toDto(JobOffer offer) {
+        JobOfferDTO dto = new JobOfferDTO();
+        dto.setId(offer.getId());
+        dto.setTitle(offer.getTitle());
+        dto.setDescription(offer.getDescription());
+        if (offer.getJob() != null) dto.setJobId(offer.getJob().getId());
+        if (offer.getEmployer() != null) dto.setEmployerId(offer.getEmployer().getId());
+        return dto;
+    }
+}
@@ -0,0 +1,26 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.JobSeekerDTO;
+import lk.acpt.demo.entity.JobSeeker;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JobSeekerMapper {
+
+    // resume stays empty: the entity field is resumeUrl, which has no counterpart on this DTO
+    public JobSeekerDTO toDto(JobSeeker seeker) {
+        JobSeekerDTO dto = new JobSeekerDTO();
+        dto.setId(seeker.getId());
+        dto.setUsername(seeker.getUsername());
+        dto.setFirstName(seeker.getFirstName());
+        dto.setLastName(seeker.getLastName());
+        dto.setEmail(seeker.getEmail());
+        dto.setRole(seeker.getRole());
+        dto.setPassword(seeker.getPassword());
+        dto.setProfilePictureUrl(seeker.getProfilePictureUrl());
+        dto.setAbout(seeker.getAbout());
+        dto.setSkills(seeker.getSkills());
+        dto.setExperience(seeker.getExperience());
+        return dto;
+    }
+}
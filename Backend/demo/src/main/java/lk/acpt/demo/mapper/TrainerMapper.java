@@ -0,0 +1,27 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.TrainerDTO;
+import lk.acpt.demo.entity.Trainer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TrainerMapper {
+
+    public TrainerDTO toDto(Trainer trainer) {
+        TrainerDTO dto = new TrainerDTO();
+        dto.setId(trainer.getId());
+        dto.setUsername(trainer.getUsername());
+        dto.setFirstName(trainer.getFirstName());
+        dto.setLastName(trainer.getLastName());
+        dto.setExpertise(trainer.getExpertise());
+        dto.setEmail(trainer.getEmail());
+        dto.setRole(trainer.getRole());
+        dto.setPassword(trainer.getPassword());
+        dto.setProfilePictureUrl(trainer.getProfilePictureUrl());
+        dto.setBio(trainer.getBio());
+        dto.setExperience(trainer.getExperience());
+        dto.setCertifications(trainer.getCertifications());
+        dto.setAchievements(trainer.getAchievements());
+        return dto;
+    }
+}
@@ -0,0 +1,48 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.dto.UserDetailsDTO;
+import lk.acpt.demo.entity.Employer;
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.entity.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserDetailsMapper {
+
+    /** Fills the account fields, then the profile fields of whichever user type this is. */
+    public UserDetailsDTO toDto(User user) {
+        UserDetailsDTO dto = new UserDetailsDTO();
+        dto.setId(user.getId());
+        dto.setEmail(user.getEmail());
+        dto.setPassword(user.getPassword());
+        dto.setRole(user.getRole());
+        dto.setUsername(user.getUsername());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        if (user instanceof JobSeeker seeker) {
+            dto.setResumeUrl(seeker.getResumeUrl());
+            dto.setProfilePictureUrl(seeker.getProfilePictureUrl());
+            dto.setAbout(seeker.getAbout());
+            dto.setSkills(seeker.getSkills());
+            dto.setExperience(seeker.getExperience());
+        } else if (user instanceof Employer employer) {
+            dto.setCompanyName(employer.getCompanyName());
+            dto.setProfilePictureUrl(employer.getProfilePictureUrl());
+            dto.setCompanyLogoUrl(employer.getCompanyLogoUrl());
+            dto.setLocation(employer.getLocation());
+            dto.setOverview(employer.getOverview());
+            dto.setIndustry(employer.getIndustry());
+            dto.setCompanySize(employer.getCompanySize());
+            dto.setWebsite(employer.getWebsite());
+        } else if (user instanceof Trainer trainer) {
+            dto.setExpertise(trainer.getExpertise());
+            dto.setProfilePictureUrl(trainer.getProfilePictureUrl());
+            dto.setBio(trainer.getBio());
+            dto.setExperience(trainer.getExperience());
+            dto.setCertifications(trainer.getCertifications());
+            dto.setAchievements(trainer.getAchievements());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,203 @@
+package lk.acpt.demo.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wraps the application's DataSource so every JDBC statement is timed and its rows counted
+ * into the current {@link SqlStatistics}. Statements slower than {@code app.sql.slow-query-threshold}
+ * are counted, and a sample of them ({@code app.sql.slow-query-sample-rate}) is logged with the SQL
+ * and the handler that ran it.
+ */
+@Component
+public class SqlCountingDataSource implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlCountingDataSource.class);
+
+    private final long slowQueryNanos;
+    private final double slowQuerySampleRate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Counter slowQueries;
+
+    public SqlCountingDataSource(@Value("${app.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+                                 @Value("${app.sql.slow-query-sample-rate:1.0}") double slowQuerySampleRate,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.slowQuerySampleRate = slowQuerySampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        // A Spring proxy keeps every interface of the pool (Closeable, MXBeans), so shutdown and pool metrics still work
+        ProxyFactory proxyFactory = new ProxyFactory(dataSource);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            return result instanceof Connection connection
+                    ? proxy(Connection.class, new ConnectionHandler(connection))
+                    : result;
+        });
+        return proxyFactory.getProxy();
+    }
+
+    private void statementExecuted(String sql, long elapsedNanos) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement(elapsedNanos);
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            countSlowQuery();
+            if (slowQuerySampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+                log.warn("Slow SQL ({} ms) in {}: {}", elapsedNanos / 1_000_000,
+                        statistics != null ? statistics.getHandler() : "background work", sql);
+            }
+        }
+    }
+
+    private static void rowsTouched(long count) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null && count > 0) {
+            statistics.recordRows(count);
+        }
+    }
+
+    private void countSlowQuery() {
+        Counter counter = slowQueries;
+        if (counter == null) {
+            // The registry is created after the DataSource, so look it up on first use
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            counter = Counter.builder("sql.slow.statements")
+                    .description("Statements slower than app.sql.slow-query-threshold")
+                    .register(registry);
+            slowQueries = counter;
+        }
+        counter.increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlCountingDataSource.invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, sql));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, sql));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = SqlCountingDataSource.invoke(target, method, args);
+                return result instanceof ResultSet resultSet && name.equals("getResultSet")
+                        ? proxy(ResultSet.class, new ResultSetHandler(resultSet))
+                        : result;
+            }
+            long started = System.nanoTime();
+            Object result;
+            try {
+                result = SqlCountingDataSource.invoke(target, method, args);
+            } finally {
+                String executed = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "batch";
+                statementExecuted(executed, System.nanoTime() - started);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            if (result instanceof Integer updated) {
+                rowsTouched(updated);
+            } else if (result instanceof Long updated) {
+                rowsTouched(updated);
+            } else if (result instanceof int[] updated) {
+                for (int count : updated) {
+                    rowsTouched(count);
+                }
+            } else if (result instanceof long[] updated) {
+                for (long count : updated) {
+                    rowsTouched(count);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+
+        ResultSetHandler(ResultSet target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlCountingDataSource.invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                rowsTouched(1);
+            }
+            return result;
+        }
+    }
+}
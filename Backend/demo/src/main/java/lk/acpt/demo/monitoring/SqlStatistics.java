@@ -0,0 +1,64 @@
+package lk.acpt.demo.monitoring;
+
+/**
+ * SQL work done on the current thread since {@link #begin()}: statements executed,
+ * rows read or written, and time spent inside the JDBC driver. Collected by
+ * {@link SqlCountingDataSource} and scoped to one HTTP request by {@link SqlStatisticsInterceptor}.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStatistics(String handler) {
+        this.handler = handler;
+    }
+
+    /** Starts counting on this thread, replacing anything left over from an earlier request. */
+    public static SqlStatistics begin(String handler) {
+        SqlStatistics statistics = new SqlStatistics(handler);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** The statistics being collected on this thread, or null outside a request. */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /** Stops counting on this thread and returns the totals, or null if nothing was started. */
+    public static SqlStatistics end() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    void recordStatement(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,71 @@
+package lk.acpt.demo.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scopes {@link SqlStatistics} to each controller call and publishes the totals as
+ * {@code sql.request.statements}, {@code sql.request.rows} and {@code sql.request.time},
+ * tagged with the handler (e.g. {@code CourseController.getAll}). Work done on another thread,
+ * such as writing a streamed response, is not counted.
+ */
+@Component
+public class SqlStatisticsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatisticsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The redispatch after async processing belongs to the call that was already counted
+        if (handler instanceof HandlerMethod method && request.getDispatcherType() != DispatcherType.ASYNC) {
+            SqlStatistics.begin(method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record();
+    }
+
+    private void record() {
+        SqlStatistics statistics = SqlStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+        String handlerName = statistics.getHandler();
+        DistributionSummary.builder("sql.request.statements")
+                .description("JDBC statements executed per request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("sql.request.rows")
+                .description("Rows read or written per request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("sql.request.time")
+                .description("Time spent executing JDBC statements per request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
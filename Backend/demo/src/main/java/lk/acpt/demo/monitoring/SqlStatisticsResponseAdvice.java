@@ -0,0 +1,43 @@
+package lk.acpt.demo.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's SQL totals as {@code X-SQL-Statements}, {@code X-SQL-Rows} and
+ * {@code X-SQL-Time-Ms} response headers when {@code app.sql.response-headers=true}.
+ * Headers have to be set before the body is written, so this counts the work done so far.
+ */
+@ControllerAdvice
+public class SqlStatisticsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean enabled;
+
+    public SqlStatisticsResponseAdvice(@Value("${app.sql.response-headers:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set("X-SQL-Statements", Integer.toString(statistics.getStatements()));
+            headers.set("X-SQL-Rows", Long.toString(statistics.getRows()));
+            headers.set("X-SQL-Time-Ms", Long.toString(statistics.getNanos() / 1_000_000));
+        }
+        return body;
+    }
+}
@@ -1,13 +1,103 @@
 package lk.acpt.demo.repositories;
 
+import lk.acpt.demo.dto.ApplicationDTO;
+import jakarta.persistence.QueryHint;
 import lk.acpt.demo.entity.Application;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Integer> {
     List<Application> findByJobSeeker_Id(Integer jobSeekerId);
     List<Application> findByJob_Id(Integer jobId);
+
+    // The listing only needs the two foreign keys, so neither the job nor the job seeker is joined
+    String SUMMARY_SELECT = "select new lk.acpt.demo.dto.ApplicationDTO(a.id, a.job.id, a.jobSeeker.id, a.status) ";
+
+    @Query(SUMMARY_SELECT + "from Application a order by a.id")
+    List<ApplicationDTO> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "from Application a where a.jobSeeker.id = :jobSeekerId order by a.id")
+    List<ApplicationDTO> findSummariesByJobSeekerId(@Param("jobSeekerId") Integer jobSeekerId);
+
+    @Query(value = SUMMARY_SELECT + "from Application a where a.job.id = :jobId order by a.id",
+           countQuery = "select count(a) from Application a where a.job.id = :jobId")
+    Page<ApplicationDTO> findSummariesByJobId(@Param("jobId") Integer jobId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "from Application a join a.job j where j.employerId = :employerId order by a.id",
+           countQuery = "select count(a) from Application a join a.job j where j.employerId = :employerId")
+    Page<ApplicationDTO> findSummariesByEmployerId(@Param("employerId") Long employerId, Pageable pageable);
+
+    // Only what ranking a job's applicants needs; the pageable caps how many are read
+    @Query("select a.id as applicationId, s.skills as skills " +
+           "from Application a join a.jobSeeker s where a.job.id = :jobId order by a.id")
+    List<CandidateSkillsView> findCandidateSkillsByJobId(@Param("jobId") Integer jobId, Pageable limit);
+
+    // The applicant columns the candidate list shows, for one page of ranked applications
+    @Query("select a.id as applicationId, a.status as status, s.id as jobSeekerId, s.username as username, " +
+           "s.firstName as firstName, s.lastName as lastName, s.email as email, " +
+           "s.profilePictureUrl as profilePictureUrl, s.resumeUrl as resumeUrl, s.skills as skills " +
+           "from Application a join a.jobSeeker s where a.id in :applicationIds")
+    List<CandidateView> findCandidatesByIdIn(@Param("applicationIds") Collection<Integer> applicationIds);
+
+    @Query("select count(distinct a.jobSeeker.id) from Application a join a.job j where j.employerId = :employerId")
+    long countApplicantsByEmployerId(@Param("employerId") Long employerId);
+
+    // Read a batch at a time; with useCursorFetch=true MySQL keeps the rest on the server
+    String EXPORT_FETCH_SIZE = "1000";
+    String EXPORT_SELECT = "select a.id as applicationId, a.status as status, j.id as jobId, j.title as jobTitle, " +
+           "s.id as jobSeekerId, s.username as username, s.firstName as firstName, s.lastName as lastName, " +
+           "s.email as email, s.resumeUrl as resumeUrl, s.skills as skills " +
+           "from Application a join a.job j join a.jobSeeker s ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "where j.employerId = :employerId order by a.id")
+    Stream<ApplicantExportView> streamApplicantsByEmployerId(@Param("employerId") Long employerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "where j.employerId = :employerId and j.id = :jobId order by a.id")
+    Stream<ApplicantExportView> streamApplicantsByEmployerIdAndJobId(@Param("employerId") Long employerId,
+                                                                     @Param("jobId") Integer jobId);
+
+    interface ApplicantExportView {
+        Integer getApplicationId();
+        String getStatus();
+        Integer getJobId();
+        String getJobTitle();
+        Integer getJobSeekerId();
+        String getUsername();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getResumeUrl();
+        String getSkills();
+    }
+
+    interface CandidateSkillsView {
+        Integer getApplicationId();
+        String getSkills();
+    }
+
+    interface CandidateView {
+        Integer getApplicationId();
+        String getStatus();
+        Integer getJobSeekerId();
+        String getUsername();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getProfilePictureUrl();
+        String getResumeUrl();
+        String getSkills();
+    }
 }
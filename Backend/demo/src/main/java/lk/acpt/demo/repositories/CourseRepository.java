@@ -1,9 +1,79 @@
 package lk.acpt.demo.repositories;
 
+import jakarta.persistence.QueryHint;
 import lk.acpt.demo.entity.Course;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Integer> {
-}
\ No newline at end of file
+
+    // The catalog is read in three queries however many courses there are: courses with a trainer summary,
+    // then the modules and prerequisites of all of them. No Course or Trainer entity is loaded.
+    String CATALOG_SELECT = "select c.id as id, c.title as title, c.description as description, c.duration as duration, "
+            + "c.level as level, c.category as category, c.createdAt as createdAt, "
+            + "t.id as trainerId, t.firstName as trainerFirstName, t.lastName as trainerLastName, "
+            + "t.expertise as trainerExpertise, t.profilePictureUrl as trainerProfilePictureUrl "
+            + "from Course c left join c.trainer t ";
+
+    // Catalog results live in the query cache; any write to the course, module, prerequisite or user tables
+    // through Hibernate bumps that table's timestamp and the cached results are ignored from then on
+    String CATALOG_REGION = "course-catalog";
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATALOG_REGION)})
+    @Query(CATALOG_SELECT + "order by c.id")
+    List<CatalogView> findCatalog();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATALOG_REGION)})
+    @Query(CATALOG_SELECT + "where c.id = :id")
+    List<CatalogView> findCatalogById(@Param("id") Integer id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATALOG_REGION)})
+    @Query("select m.course.id as courseId, m.id as id, m.title as title, m.description as description, m.duration as duration "
+            + "from CourseModule m where m.course.id in :courseIds order by m.id")
+    List<ModuleView> findModulesByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATALOG_REGION)})
+    @Query("select c.id as courseId, p as prerequisite from Course c join c.prerequisites p where c.id in :courseIds")
+    List<PrerequisiteView> findPrerequisitesByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    interface CatalogView {
+        Integer getId();
+        String getTitle();
+        String getDescription();
+        String getDuration();
+        String getLevel();
+        String getCategory();
+        LocalDateTime getCreatedAt();
+        Integer getTrainerId();
+        String getTrainerFirstName();
+        String getTrainerLastName();
+        String getTrainerExpertise();
+        String getTrainerProfilePictureUrl();
+    }
+
+    interface ModuleView {
+        Integer getCourseId();
+        Long getId();
+        String getTitle();
+        String getDescription();
+        String getDuration();
+    }
+
+    interface PrerequisiteView {
+        Integer getCourseId();
+        String getPrerequisite();
+    }
+}
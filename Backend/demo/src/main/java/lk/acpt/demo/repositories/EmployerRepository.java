@@ -2,8 +2,20 @@ package lk.acpt.demo.repositories;
 
 import lk.acpt.demo.entity.Employer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface EmployerRepository extends JpaRepository<Employer, Integer> {
+
+    @Query("select e.id as id, e.companyName as companyName from Employer e where e.id = :id")
+    Optional<EmployerNameView> findNameById(@Param("id") Integer id);
+
+    interface EmployerNameView {
+        Integer getId();
+        String getCompanyName();
+    }
 }
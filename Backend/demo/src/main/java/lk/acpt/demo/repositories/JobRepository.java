@@ -2,9 +2,32 @@ package lk.acpt.demo.repositories;
 
 import lk.acpt.demo.entity.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface JobRepository extends JpaRepository<Job, Integer> {
+public interface JobRepository extends JpaRepository<Job, Integer>, JpaSpecificationExecutor<Job> {
+
+    // One row per job and application status; a job nobody has applied to yet comes back once with a null status
+    @Query("select j.id as jobId, j.title as title, j.location as location, j.jobTime as jobTime, " +
+           "j.deadline as deadline, a.status as status, count(a.id) as applications " +
+           "from Job j left join Application a on a.job = j where j.employerId = :employerId " +
+           "group by j.id, j.title, j.location, j.jobTime, j.deadline, a.status order by j.id desc")
+    List<JobStatusCountView> countApplicationsByStatus(@Param("employerId") Long employerId);
+
+    interface JobStatusCountView {
+        Integer getJobId();
+        String getTitle();
+        String getLocation();
+        String getJobTime();
+        LocalDateTime getDeadline();
+        String getStatus();
+        long getApplications();
+    }
 }
 
@@ -2,8 +2,29 @@ package lk.acpt.demo.repositories;
 
 import lk.acpt.demo.entity.JobSeeker;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface JobSeekerRepository extends JpaRepository<JobSeeker, Integer> {
+
+    @Query("select js.skills as skills, js.experience as experience from JobSeeker js where js.id = :id")
+    Optional<SkillsView> findSkillsById(@Param("id") Integer id);
+
+    @Query("select js.id as id, js.skills as skills, js.experience as experience from JobSeeker js where js.id in :ids")
+    List<ProfileTextView> findSkillsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    interface SkillsView {
+        String getSkills();
+        String getExperience();
+    }
+
+    interface ProfileTextView extends SkillsView {
+        Integer getId();
+    }
 }
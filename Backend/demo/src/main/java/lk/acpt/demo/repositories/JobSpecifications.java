@@ -0,0 +1,70 @@
+package lk.acpt.demo.repositories;
+
+import lk.acpt.demo.dto.JobSearchCriteria;
+import lk.acpt.demo.entity.Job;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter and keyset predicates for {@link JobRepository}. The equality filters and
+ * the deadline range are on columns indexed together with {@code id} (see {@link Job}),
+ * so a page filtered by them costs the same however large the table gets.
+ * <p>
+ * Location is the exception: it is a substring match, and a LIKE with a leading
+ * wildcard cannot use an index. It only narrows rows the other predicates found,
+ * and on its own it scans the table until a page is filled.
+ */
+public final class JobSpecifications {
+
+    private JobSpecifications() {
+    }
+
+    public static Specification<Job> matching(JobSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            var predicates = cb.conjunction();
+            if (hasText(criteria.getCategory())) {
+                predicates = cb.and(predicates, cb.equal(root.get("category"), criteria.getCategory()));
+            }
+            if (hasText(criteria.getModality())) {
+                predicates = cb.and(predicates, cb.equal(root.get("modality"), criteria.getModality()));
+            }
+            if (hasText(criteria.getJobTime())) {
+                predicates = cb.and(predicates, cb.equal(root.get("jobTime"), criteria.getJobTime()));
+            }
+            if (hasText(criteria.getLocation())) {
+                predicates = cb.and(predicates, cb.like(root.get("location"), "%" + criteria.getLocation() + "%"));
+            }
+            if (criteria.getEmployerId() != null) {
+                predicates = cb.and(predicates, cb.equal(root.get("employerId"), criteria.getEmployerId()));
+            }
+            if (criteria.getDeadlineFrom() != null) {
+                predicates = cb.and(predicates, cb.greaterThanOrEqualTo(root.get("deadline"), criteria.getDeadlineFrom()));
+            }
+            if (criteria.getDeadlineTo() != null) {
+                predicates = cb.and(predicates, cb.lessThanOrEqualTo(root.get("deadline"), criteria.getDeadlineTo()));
+            }
+            return predicates;
+        };
+    }
+
+    /** Jobs after {@code lastId} when ordering by id descending. */
+    public static Specification<Job> idBefore(Integer lastId) {
+        return (root, query, cb) -> cb.lessThan(root.get("id"), lastId);
+    }
+
+    /** Jobs after ({@code lastDeadline}, {@code lastId}) when ordering by deadline then id, both ascending. */
+    public static Specification<Job> deadlineAfter(LocalDateTime lastDeadline, Integer lastId) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("deadline"), lastDeadline),
+                cb.and(cb.equal(root.get("deadline"), lastDeadline), cb.greaterThan(root.get("id"), lastId)));
+    }
+
+    public static Specification<Job> hasDeadline() {
+        return (root, query, cb) -> cb.isNotNull(root.get("deadline"));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,9 @@
+package lk.acpt.demo.repositories;
+
+import lk.acpt.demo.entity.ResumeText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResumeTextRepository extends JpaRepository<ResumeText, String> {
+}
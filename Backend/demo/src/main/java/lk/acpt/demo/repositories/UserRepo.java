@@ -1,9 +1,16 @@
 package lk.acpt.demo.repositories;
 
 import lk.acpt.demo.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Project: Assignment 1 (COMP2003-Object Oriented Software Engineering)
  * Author: Yehanmenura Jayalath
@@ -12,4 +19,48 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface UserRepo extends JpaRepository<User,Integer> {
     User findByUsername(String username);
+
+    // Usernames are unique, but a database that had duplicates before the constraint keeps them
+    List<User> findAllByUsername(String username);
+
+    boolean existsByUsername(String username);
+
+    // Every user type shares the one table, so a native query can read subtype columns without joins;
+    // TEXT columns are cut down on the database side so their bodies never leave it
+    String DIRECTORY_SELECT = "select u.id as id, u.username as username, u.role as role, " +
+            "u.first_name as firstName, u.last_name as lastName, u.email as email, " +
+            "u.profile_picture_url as profilePictureUrl, u.company_name as companyName, " +
+            "u.company_logo_url as companyLogoUrl, u.location as location, " +
+            "substring(u.skills, 1, 200) as skills, u.resume_url as resumeUrl, u.expertise as expertise, " +
+            "substring(coalesce(u.about, u.bio), 1, 200) as summary, " +
+            "substring(u.experience, 1, 200) as experience from user u ";
+
+    @Query(value = DIRECTORY_SELECT + "order by u.id",
+           countQuery = "select count(*) from user u", nativeQuery = true)
+    Page<DirectoryView> findDirectory(Pageable pageable);
+
+    @Query(value = DIRECTORY_SELECT + "where u.role = :role order by u.id",
+           countQuery = "select count(*) from user u where u.role = :role", nativeQuery = true)
+    Page<DirectoryView> findDirectoryByRole(@Param("role") String role, Pageable pageable);
+
+    @Query(value = DIRECTORY_SELECT + "where u.id in (:ids) order by u.id", nativeQuery = true)
+    List<DirectoryView> findDirectoryByIds(@Param("ids") Collection<Integer> ids);
+
+    interface DirectoryView {
+        Integer getId();
+        String getUsername();
+        String getRole();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        String getProfilePictureUrl();
+        String getCompanyName();
+        String getCompanyLogoUrl();
+        String getLocation();
+        String getSkills();
+        String getResumeUrl();
+        String getExpertise();
+        String getSummary();
+        String getExperience();
+    }
 }
@@ -0,0 +1,192 @@
+package lk.acpt.demo.search;
+
+import lk.acpt.demo.dto.CandidateSearchHitDTO;
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.entity.ResumeText;
+import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.repositories.ResumeTextRepository;
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ThumbnailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keyword index over job seekers: their listed skills, their experience and the text of their CV. It is
+ * rebuilt from the saved CV texts at startup and kept current by
+ * {@link lk.acpt.demo.service.impl.ResumeTextServiceImpl}, one seeker at a time. Only the postings and a short
+ * summary of each seeker are held in memory; the skills, experience and CV text of the hits are read back, one
+ * query each per search, for their snippets.
+ */
+@Component
+public class CandidateSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateSearchIndex.class);
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int SKILLS_SUMMARY_LENGTH = 200;
+
+    private static final float SKILLS_WEIGHT = 3f;
+    private static final float EXPERIENCE_WEIGHT = 2f;
+    private static final float RESUME_WEIGHT = 1f;
+
+    private final JobSeekerRepository jobSeekerRepository;
+    private final ResumeTextRepository resumeTextRepository;
+    private final FileStoreService fileStoreService;
+    private final ThumbnailService thumbnailService;
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<Integer, Candidate> candidates = new ConcurrentHashMap<>();
+
+    // What a hit shows without another query; resumeHash names the CV text, null without a stored PDF
+    private record Candidate(Integer id, String firstName, String lastName, String profilePictureUrl,
+                             String resumeUrl, String resumeHash, String skillsSummary) {
+    }
+
+    @Autowired
+    public CandidateSearchIndex(JobSeekerRepository jobSeekerRepository, ResumeTextRepository resumeTextRepository,
+                                FileStoreService fileStoreService, ThumbnailService thumbnailService) {
+        this.jobSeekerRepository = jobSeekerRepository;
+        this.resumeTextRepository = resumeTextRepository;
+        this.fileStoreService = fileStoreService;
+        this.thumbnailService = thumbnailService;
+    }
+
+    /** Indexes every job seeker and returns the ids of those whose CV has no extracted text yet. */
+    public List<Integer> rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        candidates.clear();
+        List<Integer> unextracted = new ArrayList<>();
+        PageRequest pageRequest = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+        Page<JobSeeker> page;
+        do {
+            page = jobSeekerRepository.findAll(pageRequest);
+            Set<String> hashes = new HashSet<>();
+            page.forEach(seeker -> resumeHash(seeker.getResumeUrl()).ifPresent(hashes::add));
+            Map<String, String> texts = new HashMap<>();
+            resumeTextRepository.findAllById(hashes).forEach(text -> texts.put(text.getHash(), text.getText()));
+            for (JobSeeker seeker : page) {
+                String hash = resumeHash(seeker.getResumeUrl()).orElse(null);
+                if (hash != null && !texts.containsKey(hash)) {
+                    unextracted.add(seeker.getId());
+                }
+                index(seeker, texts.get(hash));
+            }
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+        log.info("Indexed {} job seekers for candidate search in {} ms", candidates.size(),
+                System.currentTimeMillis() - started);
+        return unextracted;
+    }
+
+    public void index(JobSeeker seeker, String resumeText) {
+        if (seeker == null || seeker.getId() == null) {
+            return;
+        }
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, seeker.getSkills(), SKILLS_WEIGHT);
+        addField(weights, seeker.getExperience(), EXPERIENCE_WEIGHT);
+        addField(weights, resumeText, RESUME_WEIGHT);
+        candidates.put(seeker.getId(), new Candidate(seeker.getId(), seeker.getFirstName(), seeker.getLastName(),
+                seeker.getProfilePictureUrl(), seeker.getResumeUrl(), resumeHash(seeker.getResumeUrl()).orElse(null),
+                summary(seeker.getSkills())));
+        index.put(seeker.getId(), weights);
+    }
+
+    public void remove(Integer jobSeekerId) {
+        if (jobSeekerId == null) {
+            return;
+        }
+        index.remove(jobSeekerId);
+        candidates.remove(jobSeekerId);
+    }
+
+    /** Hash of the stored PDF behind a CV URL, the key of its {@link ResumeText}. */
+    public Optional<String> resumeHash(String resumeUrl) {
+        return fileStoreService.storageKey(resumeUrl)
+                .filter(key -> key.endsWith(".pdf"))
+                .map(key -> key.substring(key.lastIndexOf('/') + 1, key.lastIndexOf('.')));
+    }
+
+    public List<CandidateSearchHitDTO> search(String query, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        List<Candidate> found = new ArrayList<>();
+        List<Float> scores = new ArrayList<>();
+        for (InvertedIndex.ScoredDocument doc : index.search(terms, limit)) {
+            Candidate candidate = candidates.get(doc.docId());
+            if (candidate != null) {
+                found.add(candidate);
+                scores.add(doc.score());
+            }
+        }
+
+        // One query for the profile texts and one for the CV texts of the whole page
+        Map<Integer, JobSeekerRepository.ProfileTextView> profiles = new HashMap<>();
+        if (!found.isEmpty()) {
+            jobSeekerRepository.findSkillsByIdIn(found.stream().map(Candidate::id).toList())
+                    .forEach(profile -> profiles.put(profile.getId(), profile));
+        }
+        Set<String> hashes = new HashSet<>();
+        found.forEach(candidate -> {
+            if (candidate.resumeHash() != null) {
+                hashes.add(candidate.resumeHash());
+            }
+        });
+        Map<String, String> texts = new HashMap<>();
+        resumeTextRepository.findAllById(hashes).forEach(text -> texts.put(text.getHash(), text.getText()));
+
+        Set<String> termSet = new HashSet<>(terms);
+        List<CandidateSearchHitDTO> hits = new ArrayList<>(found.size());
+        for (int i = 0; i < found.size(); i++) {
+            Candidate candidate = found.get(i);
+            String resumeText = candidate.resumeHash() == null ? null : texts.get(candidate.resumeHash());
+            JobSeekerRepository.ProfileTextView profile = profiles.get(candidate.id());
+            String experience = profile == null ? null : profile.getExperience();
+            String skills = profile == null ? candidate.skillsSummary() : profile.getSkills();
+            hits.add(new CandidateSearchHitDTO(candidate.id(), candidate.firstName(), candidate.lastName(),
+                    thumbnailService.thumbnailUrl(candidate.profilePictureUrl(), ThumbnailService.AVATAR),
+                    candidate.resumeUrl(), candidate.skillsSummary(), scores.get(i),
+                    snippet(termSet, resumeText, experience, skills)));
+        }
+        return hits;
+    }
+
+    // The field that mentions the query most; the skills when none does
+    private static String snippet(Set<String> terms, String... fields) {
+        String best = null;
+        int bestMatches = 0;
+        for (String field : fields) {
+            int matches = SnippetBuilder.countMatches(field, terms);
+            if (matches > bestMatches) {
+                best = field;
+                bestMatches = matches;
+            }
+        }
+        return SnippetBuilder.build(best != null ? best : fields[fields.length - 1], terms);
+    }
+
+    private static String summary(String text) {
+        return text == null || text.length() <= SKILLS_SUMMARY_LENGTH ? text : text.substring(0, SKILLS_SUMMARY_LENGTH);
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextAnalyzer.tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package lk.acpt.demo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25. Documents are identified by
+ * an int id and supplied as weighted term frequencies, so callers can boost
+ * fields (for example a title) by counting their terms more than once.
+ * Reads run concurrently; adds and removals take the write lock.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Forward index: the terms of each document, needed to remove it again
+    private final Map<Integer, String[]> documentTerms = new HashMap<>();
+    private final Map<Integer, Float> documentLengths = new HashMap<>();
+    private double totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record ScoredDocument(int docId, float score) {
+    }
+
+    public void put(int docId, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            float length = 0;
+            for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(docId, entry.getValue());
+                length += entry.getValue();
+            }
+            documentTerms.put(docId, termWeights.keySet().toArray(new String[0]));
+            documentLengths.put(docId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the best {@code limit} documents for the query terms, highest score first. */
+    public List<ScoredDocument> search(Collection<String> queryTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            int documentCount = documentLengths.size();
+            if (documentCount == 0 || limit <= 0) {
+                return List.of();
+            }
+            double averageLength = totalLength / documentCount;
+            Map<Integer, float[]> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int docId = list.docIds[i];
+                    float tf = list.weights[i];
+                    float norm = (float) (K1 * (1 - B + B * documentLengths.get(docId) / averageLength));
+                    float termScore = (float) (idf * tf * (K1 + 1) / (tf + norm));
+                    scores.computeIfAbsent(docId, id -> new float[1])[0] += termScore;
+                }
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<ScoredDocument> topK(Map<Integer, float[]> scores, int limit) {
+        PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(limit + 1,
+                (a, b) -> a.score() != b.score() ? Float.compare(a.score(), b.score()) : Integer.compare(b.docId(), a.docId()));
+        for (Map.Entry<Integer, float[]> entry : scores.entrySet()) {
+            heap.offer(new ScoredDocument(entry.getKey(), entry.getValue()[0]));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<ScoredDocument> ranked = new ArrayList<>(heap);
+        ranked.sort((a, b) -> a.score() != b.score() ? Float.compare(b.score(), a.score()) : Integer.compare(a.docId(), b.docId()));
+        return ranked;
+    }
+
+    private void removeInternal(int docId) {
+        String[] terms = documentTerms.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLengths.remove(docId);
+    }
+
+    /** Postings list for one term: parallel arrays of document ids and weighted term frequencies. */
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int docId, float weight) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docIds[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            for (int i = 0; i < size; i++) {
+                if (docIds[i] == docId) {
+                    // Order does not matter for scoring, so move the last entry into the gap
+                    size--;
+                    docIds[i] = docIds[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
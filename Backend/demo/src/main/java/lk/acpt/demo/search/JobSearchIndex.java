@@ -0,0 +1,164 @@
+package lk.acpt.demo.search;
+
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.dto.JobRecommendationDTO;
+import lk.acpt.demo.dto.JobSearchHitDTO;
+import lk.acpt.demo.entity.Job;
+import lk.acpt.demo.repositories.JobRepository;
+import lk.acpt.demo.mapper.JobMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keyword index over job postings. It is loaded from the database once at
+ * startup and then kept current by {@link lk.acpt.demo.services.JobServiceImpl},
+ * so searches are answered entirely from memory. The same updates feed the
+ * {@link SkillMatcher} used for job recommendations.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchIndex.class);
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float BODY_WEIGHT = 1f;
+
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final SkillMatcher skillMatcher;
+    private final InvertedIndex index = new InvertedIndex();
+    // The indexed copy of each job, returned with search hits so no query is needed
+    private final Map<Integer, JobDTO> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobSearchIndex(JobRepository jobRepository, JobMapper jobMapper, SkillMatcher skillMatcher) {
+        this.jobRepository = jobRepository;
+        this.jobMapper = jobMapper;
+        this.skillMatcher = skillMatcher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        skillMatcher.clear();
+        jobs.clear();
+        PageRequest pageRequest = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+        Page<Job> page;
+        do {
+            page = jobRepository.findAll(pageRequest);
+            page.forEach(job -> index(jobMapper.toDto(job)));
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+        log.info("Indexed {} jobs for keyword search in {} ms", jobs.size(), System.currentTimeMillis() - started);
+    }
+
+    public void index(JobDTO job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, job.getTitle(), TITLE_WEIGHT);
+        addField(weights, job.getCategory(), CATEGORY_WEIGHT);
+        addField(weights, job.getDescription(), BODY_WEIGHT);
+        addField(weights, job.getRequirements(), BODY_WEIGHT);
+        jobs.put(job.getId(), job);
+        index.put(job.getId(), weights);
+        skillMatcher.put(job.getId(), skillText(job), deadlineMillis(job));
+    }
+
+    public void remove(Integer jobId) {
+        if (jobId == null) {
+            return;
+        }
+        index.remove(jobId);
+        skillMatcher.remove(jobId);
+        jobs.remove(jobId);
+    }
+
+    public Optional<JobDTO> get(Integer jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /** Open jobs that best match the weighted skill terms of a seeker, best first. */
+    public List<JobRecommendationDTO> recommend(Map<String, Float> seekerTerms, int limit) {
+        List<JobRecommendationDTO> recommendations = new ArrayList<>();
+        for (SkillMatcher.Match match : skillMatcher.topMatches(seekerTerms, System.currentTimeMillis(), limit)) {
+            JobDTO job = jobs.get(match.jobId());
+            if (job != null) {
+                recommendations.add(new JobRecommendationDTO(job, match.score(), match.matchedTerms()));
+            }
+        }
+        return recommendations;
+    }
+
+    public List<JobSearchHitDTO> search(String query, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Set<String> termSet = new HashSet<>(terms);
+        List<JobSearchHitDTO> hits = new ArrayList<>();
+        for (InvertedIndex.ScoredDocument doc : index.search(terms, limit)) {
+            JobDTO job = jobs.get(doc.docId());
+            if (job != null) {
+                hits.add(new JobSearchHitDTO(job, doc.score(), snippet(job, termSet)));
+            }
+        }
+        return hits;
+    }
+
+    private static String snippet(JobDTO job, Set<String> terms) {
+        // Prefer the body field that actually mentions the query; fall back to the title
+        String best = null;
+        int bestMatches = 0;
+        for (String field : new String[]{job.getDescription(), job.getRequirements()}) {
+            int matches = SnippetBuilder.countMatches(field, terms);
+            if (matches > bestMatches) {
+                best = field;
+                bestMatches = matches;
+            }
+        }
+        if (best == null) {
+            best = job.getDescription() != null && !job.getDescription().isEmpty() ? job.getDescription() : job.getTitle();
+        }
+        return SnippetBuilder.build(best, terms);
+    }
+
+    private static String skillText(JobDTO job) {
+        // Titles often name the core skill ("Java Developer"), so they count alongside the requirements
+        return (job.getTitle() == null ? "" : job.getTitle()) + "\n"
+                + (job.getRequirements() == null ? "" : job.getRequirements());
+    }
+
+    private static long deadlineMillis(JobDTO job) {
+        return job.getDeadline() == null
+                ? Long.MAX_VALUE
+                : job.getDeadline().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextAnalyzer.tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+}
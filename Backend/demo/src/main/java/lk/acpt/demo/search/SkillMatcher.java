@@ -0,0 +1,375 @@
+package lk.acpt.demo.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Matches free-text skill lists against job requirements using integer term
+ * ids. Each job is stored as a sorted term-id vector in a dense slot, with a
+ * postings list of slots per term, so scoring a seeker only touches jobs that
+ * share at least one term. The scores of those jobs are kept in per-thread
+ * scratch buffers sized to the jobs a request touches, not to the whole index.
+ *
+ * <p>A job's score is the cosine similarity of two idf-weighted vectors: the
+ * job's terms, each weighted by its idf, and the seeker's terms, each weighted
+ * by the caller's weight times its idf.
+ */
+@Component
+public class SkillMatcher {
+
+    // Words that appear in almost every requirements text and say nothing about a skill
+    private static final Set<String> NOISE_TERMS = Set.of(
+            "ability", "experience", "good", "knowledge", "must", "plus", "preferred", "required",
+            "skills", "strong", "understanding", "work", "working", "year", "years");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private int[] documentFrequency = new int[64];
+    // Postings: for each term id, the slots of the jobs that contain it
+    private int[][] postings = new int[64][];
+    private int[] postingSizes = new int[64];
+
+    private final Map<Integer, Integer> slotByJobId = new HashMap<>();
+    private int[] slotJobIds = new int[64];
+    private int[][] slotTerms = new int[64][];
+    // Deadline as epoch millis, Long.MAX_VALUE when the job has none
+    private long[] slotDeadlines = new long[64];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    // Buffers for up to this many touched jobs are kept per thread; larger requests allocate their own
+    private static final int MAX_RETAINED_SCRATCH = 4096;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public record Match(int jobId, float score, List<String> matchedTerms) {
+    }
+
+    /** Extracts the distinct skill terms of a free-text list. */
+    public static List<String> skillTerms(String text) {
+        List<String> result = new ArrayList<>();
+        for (String term : TextAnalyzer.tokenize(text)) {
+            if (!NOISE_TERMS.contains(term) && !result.contains(term)) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    public void put(int jobId, String requirements, long deadlineMillis) {
+        List<String> jobTerms = skillTerms(requirements);
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+            int[] ids = new int[jobTerms.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = termId(jobTerms.get(i));
+            }
+            Arrays.sort(ids);
+            int slot = allocateSlot();
+            slotJobIds[slot] = jobId;
+            slotTerms[slot] = ids;
+            slotDeadlines[slot] = deadlineMillis;
+            slotByJobId.put(jobId, slot);
+            for (int termId : ids) {
+                addPosting(termId, slot);
+                documentFrequency[termId]++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            Arrays.fill(documentFrequency, 0);
+            Arrays.fill(postings, null);
+            Arrays.fill(postingSizes, 0);
+            slotByJobId.clear();
+            Arrays.fill(slotTerms, null);
+            slotCount = 0;
+            freeSlotCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the jobs whose deadline is after {@code nowMillis} against the
+     * given weighted seeker terms and returns the best {@code limit}.
+     */
+    public List<Match> topMatches(Map<String, Float> seekerTerms, long nowMillis, int limit) {
+        if (seekerTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int jobCount = slotByJobId.size();
+            if (jobCount == 0) {
+                return List.of();
+            }
+            // At most every job in the postings of the seeker's terms is touched
+            int touchBound = 0;
+            for (String term : seekerTerms.keySet()) {
+                Integer termId = termIds.get(term);
+                if (termId != null) {
+                    touchBound += postingSizes[termId];
+                }
+            }
+            touchBound = Math.min(touchBound, jobCount);
+            if (touchBound == 0) {
+                return List.of();
+            }
+            Scratch s = touchBound <= MAX_RETAINED_SCRATCH ? scratch.get() : new Scratch();
+            int mask = s.ensureCapacity(touchBound);
+
+            // Accumulate the dot product for every job sharing a term with the seeker
+            double seekerNormSquared = 0;
+            int touchedCount = 0;
+            for (Map.Entry<String, Float> entry : seekerTerms.entrySet()) {
+                Integer termId = termIds.get(entry.getKey());
+                if (termId == null || documentFrequency[termId] == 0) {
+                    continue;
+                }
+                float idf = idf(termId, jobCount);
+                float weight = entry.getValue() * idf;
+                seekerNormSquared += (double) weight * weight;
+                int[] slots = postings[termId];
+                for (int i = 0; i < postingSizes[termId]; i++) {
+                    int position = s.position(slots[i], mask);
+                    if (s.slots[position] == 0) {
+                        s.slots[position] = slots[i] + 1;
+                        s.touched[touchedCount++] = position;
+                    }
+                    s.scores[position] += weight * idf;
+                }
+            }
+            double seekerNorm = Math.sqrt(seekerNormSquared);
+
+            // Keep the best `limit` open jobs in a min-heap on primitive arrays
+            int heapSize = 0;
+            int capacity = Math.min(limit, touchedCount);
+            for (int i = 0; i < touchedCount; i++) {
+                int position = s.touched[i];
+                int slot = s.slots[position] - 1;
+                float dot = s.scores[position];
+                s.slots[position] = 0;
+                s.scores[position] = 0;
+                if (slotDeadlines[slot] <= nowMillis) {
+                    continue;
+                }
+                float score = (float) (dot / (jobNorm(slotTerms[slot], jobCount) * seekerNorm));
+                if (heapSize < capacity) {
+                    s.heapSlots[heapSize] = slot;
+                    s.heapScores[heapSize] = score;
+                    siftUp(s, heapSize++);
+                } else if (capacity > 0 && score > s.heapScores[0]) {
+                    s.heapSlots[0] = slot;
+                    s.heapScores[0] = score;
+                    siftDown(s, 0, heapSize);
+                }
+            }
+
+            Match[] ranked = new Match[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                int slot = s.heapSlots[0];
+                ranked[i] = new Match(slotJobIds[slot], s.heapScores[0], matchedTerms(slotTerms[slot], seekerTerms));
+                s.heapSlots[0] = s.heapSlots[i];
+                s.heapScores[0] = s.heapScores[i];
+                siftDown(s, 0, i);
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String> matchedTerms(int[] jobTermIds, Map<String, Float> seekerTerms) {
+        List<String> matched = new ArrayList<>();
+        for (int termId : jobTermIds) {
+            String term = terms.get(termId);
+            if (seekerTerms.containsKey(term)) {
+                matched.add(term);
+            }
+        }
+        return matched;
+    }
+
+    // Computed per scored job rather than stored, since every put or remove changes the idf of shared terms
+    private double jobNorm(int[] jobTermIds, int jobCount) {
+        double sum = 0;
+        for (int termId : jobTermIds) {
+            float idf = idf(termId, jobCount);
+            sum += (double) idf * idf;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private float idf(int termId, int jobCount) {
+        int df = documentFrequency[termId];
+        return (float) Math.log(1 + (jobCount - df + 0.5) / (df + 0.5));
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int newId = terms.size();
+        terms.add(term);
+        termIds.put(term, newId);
+        if (newId == documentFrequency.length) {
+            int grown = newId * 2;
+            documentFrequency = Arrays.copyOf(documentFrequency, grown);
+            postings = Arrays.copyOf(postings, grown);
+            postingSizes = Arrays.copyOf(postingSizes, grown);
+        }
+        return newId;
+    }
+
+    private void addPosting(int termId, int slot) {
+        int[] slots = postings[termId];
+        int size = postingSizes[termId];
+        if (slots == null) {
+            slots = new int[4];
+        } else if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size] = slot;
+        postings[termId] = slots;
+        postingSizes[termId] = size + 1;
+    }
+
+    private void removeInternal(int jobId) {
+        Integer slot = slotByJobId.remove(jobId);
+        if (slot == null) {
+            return;
+        }
+        for (int termId : slotTerms[slot]) {
+            int[] slots = postings[termId];
+            int size = postingSizes[termId];
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[size - 1];
+                    postingSizes[termId] = size - 1;
+                    break;
+                }
+            }
+            documentFrequency[termId]--;
+        }
+        slotTerms[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == slotJobIds.length) {
+            int grown = slotCount * 2;
+            slotJobIds = Arrays.copyOf(slotJobIds, grown);
+            slotTerms = Arrays.copyOf(slotTerms, grown);
+            slotDeadlines = Arrays.copyOf(slotDeadlines, grown);
+        }
+        return slotCount++;
+    }
+
+    private static void siftUp(Scratch s, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (s.heapScores[parent] <= s.heapScores[index]) {
+                break;
+            }
+            swap(s, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(Scratch s, int index, int size) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left + 1 < size && s.heapScores[left + 1] < s.heapScores[left] ? left + 1 : left;
+            if (s.heapScores[index] <= s.heapScores[smallest]) {
+                break;
+            }
+            swap(s, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(Scratch s, int a, int b) {
+        int slot = s.heapSlots[a];
+        s.heapSlots[a] = s.heapSlots[b];
+        s.heapSlots[b] = slot;
+        float score = s.heapScores[a];
+        s.heapScores[a] = s.heapScores[b];
+        s.heapScores[b] = score;
+    }
+
+    /**
+     * Per-thread buffers reused across scoring calls: an open-addressing table from job slot to score, and the
+     * touched table positions so the table can be cleared without a full pass. Everything is reset after each call.
+     */
+    private static final class Scratch {
+        // Slot + 1 at each position, 0 when the position is free
+        int[] slots = new int[0];
+        float[] scores = new float[0];
+        int[] touched = new int[0];
+        int[] heapSlots = new int[0];
+        float[] heapScores = new float[0];
+
+        /** Makes room for {@code jobs} touched jobs and returns the table mask to use for this call. */
+        int ensureCapacity(int jobs) {
+            // At most half full, so probe runs stay short
+            int tableSize = Integer.highestOneBit(Math.max(jobs, 1) * 2 - 1) << 1;
+            if (slots.length < tableSize) {
+                slots = new int[tableSize];
+                scores = new float[tableSize];
+            }
+            if (touched.length < jobs) {
+                touched = new int[jobs];
+                heapSlots = new int[jobs];
+                heapScores = new float[jobs];
+            }
+            return tableSize - 1;
+        }
+
+        int position(int slot, int mask) {
+            int hash = slot * 0x9E3779B9;
+            int position = (hash ^ hash >>> 16) & mask;
+            while (slots[position] != 0 && slots[position] != slot + 1) {
+                position = (position + 1) & mask;
+            }
+            return position;
+        }
+    }
+}
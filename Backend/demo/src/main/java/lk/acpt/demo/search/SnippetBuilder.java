@@ -0,0 +1,100 @@
+package lk.acpt.demo.search;
+
+import java.util.Set;
+
+/**
+ * Picks the passage of a text with the most query-term hits and wraps those
+ * hits in {@code <mark>}. The rest of the passage is HTML-escaped so the
+ * snippet can be rendered as markup directly.
+ */
+public final class SnippetBuilder {
+
+    private static final int WINDOW_TERMS = 24;
+
+    private SnippetBuilder() {
+    }
+
+    /** Number of terms in {@code text} that are query terms. */
+    public static int countMatches(String text, Set<String> queryTerms) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int[] offsets = TextAnalyzer.termOffsets(text);
+        int matches = 0;
+        for (int i = 0; i < offsets.length; i += 2) {
+            if (queryTerms.contains(TextAnalyzer.normalize(text.substring(offsets[i], offsets[i + 1])))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    public static String build(String text, Set<String> queryTerms) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        int[] offsets = TextAnalyzer.termOffsets(text);
+        int termCount = offsets.length / 2;
+        if (termCount == 0) {
+            return escape(text);
+        }
+        boolean[] hit = new boolean[termCount];
+        for (int t = 0; t < termCount; t++) {
+            hit[t] = queryTerms.contains(TextAnalyzer.normalize(text.substring(offsets[2 * t], offsets[2 * t + 1])));
+        }
+
+        // Slide a fixed-size window over the terms and keep the one with most hits
+        int window = Math.min(WINDOW_TERMS, termCount);
+        int hits = 0;
+        for (int t = 0; t < window; t++) {
+            if (hit[t]) hits++;
+        }
+        int bestStart = 0;
+        int bestHits = hits;
+        for (int start = 1; start + window <= termCount; start++) {
+            if (hit[start - 1]) hits--;
+            if (hit[start + window - 1]) hits++;
+            if (hits > bestHits) {
+                bestHits = hits;
+                bestStart = start;
+            }
+        }
+        int lastTerm = bestStart + window - 1;
+
+        StringBuilder snippet = new StringBuilder();
+        if (bestStart > 0) {
+            snippet.append("…");
+        }
+        int cursor = offsets[2 * bestStart];
+        for (int t = bestStart; t <= lastTerm; t++) {
+            int start = offsets[2 * t];
+            int end = offsets[2 * t + 1];
+            snippet.append(escape(text.substring(cursor, start)));
+            if (hit[t]) {
+                snippet.append("<mark>").append(escape(text.substring(start, end))).append("</mark>");
+            } else {
+                snippet.append(escape(text.substring(start, end)));
+            }
+            cursor = end;
+        }
+        if (lastTerm < termCount - 1) {
+            snippet.append("…");
+        }
+        return snippet.toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
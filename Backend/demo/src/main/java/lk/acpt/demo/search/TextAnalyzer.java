@@ -0,0 +1,78 @@
+package lk.acpt.demo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free text into lower-cased index terms. '+' and '#' are kept inside
+ * terms so skills such as "c++" and "c#" survive tokenization.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "our", "that", "the", "this", "to", "we", "will", "with", "you", "your");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termChar = i < text.length() && isTermChar(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                addTerm(terms, text.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the character offsets of every term in {@code text} as pairs of
+     * [start, end) in a flat array; used to highlight matches in snippets.
+     */
+    public static int[] termOffsets(String text) {
+        int[] offsets = new int[16];
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termChar = i < text.length() && isTermChar(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                if (count + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[count++] = start;
+                offsets[count++] = i;
+                start = -1;
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    public static String normalize(String term) {
+        return term.toLowerCase(Locale.ROOT);
+    }
+
+    private static void addTerm(List<String> terms, String raw) {
+        String term = normalize(raw);
+        if (!STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+
+    private static boolean isTermChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+}
@@ -0,0 +1,31 @@
+package lk.acpt.demo.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ApplicationExportService {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /** Writes every application to the employer's jobs (or to one of them) and its applicant, one row each. */
+    void exportApplicants(Long employerId, Integer jobId, Format format, OutputStream out) throws IOException;
+}
@@ -1,5 +1,7 @@
 package lk.acpt.demo.service;
 
+import lk.acpt.demo.dto.ApplicationDTO;
+import lk.acpt.demo.dto.PageDTO;
 import lk.acpt.demo.entity.Application;
 
 import java.util.List;
@@ -15,4 +17,8 @@ public interface ApplicationService {
     Application createApplication(Application application);
     Application updateApplication(Integer id, Application application);
     void deleteApplication(Integer id);
+    List<ApplicationDTO> getApplicationSummaries();
+    List<ApplicationDTO> getApplicationSummariesByJobSeeker(Integer jobSeekerId);
+    PageDTO<ApplicationDTO> getApplicationSummariesByJob(Integer jobId, int page, int size);
+    PageDTO<ApplicationDTO> getApplicationSummariesByEmployer(Long employerId, int page, int size);
 }
@@ -1,10 +1,14 @@
 package lk.acpt.demo.service;
 
+import lk.acpt.demo.dto.CourseDTO;
 import lk.acpt.demo.entity.Course;
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseService {
     List<Course> getAllCourses();
+    List<CourseDTO> getCourseCatalog();
+    Optional<CourseDTO> getCourseDetails(Integer id);
     Course getCourseById(Integer id);
     Course createCourse(Course course);
     Course updateCourse(Integer id, Course course);
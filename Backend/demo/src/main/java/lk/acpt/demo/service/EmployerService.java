@@ -1,7 +1,9 @@
 package lk.acpt.demo.service;
 
+import lk.acpt.demo.dto.EmployerDashboardDTO;
 import lk.acpt.demo.entity.Employer;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmployerService {
     List<Employer> getAllEmployers();
@@ -11,4 +13,5 @@ public interface EmployerService {
     void deleteEmployer(Integer id);
     Employer uploadProfilePicture(Integer id, org.springframework.web.multipart.MultipartFile file);
     Employer uploadCompanyLogo(Integer id, org.springframework.web.multipart.MultipartFile file);
+    Optional<EmployerDashboardDTO> getDashboard(Integer id);
 }
\ No newline at end of file
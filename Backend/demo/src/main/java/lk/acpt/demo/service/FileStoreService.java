@@ -0,0 +1,20 @@
+package lk.acpt.demo.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+public interface FileStoreService {
+    String store(MultipartFile file);
+    void retain(String url);
+    void release(String url);
+    // Sets the count to the references actually found, deleting the file at zero; false if the count moved meanwhile
+    boolean correctReferenceCount(String hash, int observedCount, int references);
+    // Storage key of the content behind a URL handed out by store(); empty for any other URL
+    Optional<String> storageKey(String url);
+    Optional<String> findUrl(String hash);
+
+    /** Published when the last reference to a stored file is released and the file is deleted. */
+    record Deleted(String hash) {
+    }
+}
@@ -1,5 +1,6 @@
 package lk.acpt.demo.service;
 
+import lk.acpt.demo.dto.CandidateSearchHitDTO;
 import lk.acpt.demo.entity.JobSeeker;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -13,4 +14,5 @@ public interface JobSeekerService {
     void deleteJobSeeker(Integer id);
     JobSeeker uploadCv(Integer id, MultipartFile file);
     JobSeeker uploadProfilePicture(Integer id, MultipartFile file);
+    List<CandidateSearchHitDTO> searchCandidates(String query, int limit);
 }
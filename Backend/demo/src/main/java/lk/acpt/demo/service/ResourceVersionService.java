@@ -0,0 +1,10 @@
+package lk.acpt.demo.service;
+
+public interface ResourceVersionService {
+    String JOBS = "jobs";
+    String COURSES = "courses";
+
+    long currentVersion(String resource);
+    void bump(String resource);
+    String etag(String resource);
+}
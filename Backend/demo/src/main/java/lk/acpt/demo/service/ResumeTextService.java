@@ -0,0 +1,6 @@
+package lk.acpt.demo.service;
+
+public interface ResumeTextService {
+    // Queues the seeker for candidate search, extracting their CV's text first if that has not been done yet
+    void indexJobSeeker(Integer jobSeekerId);
+}
@@ -0,0 +1,17 @@
+package lk.acpt.demo.service;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ThumbnailService {
+    // Longest side of each variant, in pixels
+    List<Integer> SIZES = List.of(64, 128, 256);
+    // Avatars in lists are drawn at up to 128 CSS pixels, logos at up to 64; twice that covers high-density screens
+    int AVATAR = 256;
+    int LOGO = 128;
+
+    void generateThumbnails(String url);
+    String thumbnailUrl(String url, int size);
+    // Storage key of a variant that has been written
+    Optional<String> findThumbnail(String hash, int size);
+}
@@ -1,10 +1,18 @@
 package lk.acpt.demo.service;
 
+import lk.acpt.demo.dto.PageDTO;
+import lk.acpt.demo.dto.UserLoginResponseDTO;
+import lk.acpt.demo.dto.UserSummaryDTO;
 import lk.acpt.demo.entity.User;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface UserService {
+    // Returns null when the username is taken
     User register(User user);
-    String login(String username, String password);
-    Iterable<User> getAllUsers();
+    UserLoginResponseDTO login(String username, String password);
     User getUserByUsername(String username);
+    PageDTO<UserSummaryDTO> getUserDirectory(String role, int page, int size);
+    List<UserSummaryDTO> getUserSummaries(Collection<Integer> ids);
 }
@@ -0,0 +1,121 @@
+package lk.acpt.demo.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lk.acpt.demo.repositories.ApplicationRepository;
+import lk.acpt.demo.service.ApplicationExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams an employer's applicants straight from a database cursor to the response, so
+ * the heap holds one fetch batch at a time however many rows are exported.
+ */
+@Service
+public class ApplicationExportServiceImpl implements ApplicationExportService {
+    private static final int CLEAR_EVERY = 1000;
+    private static final String[] CSV_HEADER = {"applicationId", "status", "jobId", "jobTitle", "jobSeekerId",
+            "username", "firstName", "lastName", "email", "resumeUrl", "skills"};
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportApplicants(Long employerId, Integer jobId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<ApplicationRepository.ApplicantExportView> rows = jobId == null
+                ? applicationRepository.streamApplicantsByEmployerId(employerId)
+                : applicationRepository.streamApplicantsByEmployerIdAndJobId(employerId, jobId);
+             JsonGenerator json = format == Format.NDJSON ? ndjsonGenerator(writer) : null) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, (Object[]) CSV_HEADER);
+            }
+            int written = 0;
+            Iterator<ApplicationRepository.ApplicantExportView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ApplicationRepository.ApplicantExportView row = iterator.next();
+                if (json != null) {
+                    writeJson(json, row);
+                } else {
+                    writeCsvRow(writer, row.getApplicationId(), row.getStatus(), row.getJobId(), row.getJobTitle(),
+                            row.getJobSeekerId(), row.getUsername(), row.getFirstName(), row.getLastName(),
+                            row.getEmail(), row.getResumeUrl(), row.getSkills());
+                }
+                // Nothing here should be managed, but never let the session grow with the export
+                if (++written % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private JsonGenerator ndjsonGenerator(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // Closing the generator must not close the response before the writer is flushed
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private static void writeJson(JsonGenerator json, ApplicationRepository.ApplicantExportView row) throws IOException {
+        json.writeStartObject();
+        json.writeObjectField("applicationId", row.getApplicationId());
+        json.writeStringField("status", row.getStatus());
+        json.writeObjectField("jobId", row.getJobId());
+        json.writeStringField("jobTitle", row.getJobTitle());
+        json.writeObjectField("jobSeekerId", row.getJobSeekerId());
+        json.writeStringField("username", row.getUsername());
+        json.writeStringField("firstName", row.getFirstName());
+        json.writeStringField("lastName", row.getLastName());
+        json.writeStringField("email", row.getEmail());
+        json.writeStringField("resumeUrl", row.getResumeUrl());
+        json.writeStringField("skills", row.getSkills());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Spreadsheets run cells that start with these as formulas
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
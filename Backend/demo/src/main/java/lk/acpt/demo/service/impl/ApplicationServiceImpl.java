@@ -1,14 +1,21 @@
 package lk.acpt.demo.service.impl;
 
+import lk.acpt.demo.dto.ApplicationDTO;
+import lk.acpt.demo.dto.PageDTO;
 import lk.acpt.demo.entity.Application;
 import lk.acpt.demo.repositories.ApplicationRepository;
 import lk.acpt.demo.service.ApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service
 public class ApplicationServiceImpl implements ApplicationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ApplicationRepository applicationRepository;
 
@@ -41,4 +48,33 @@ public class ApplicationServiceImpl implements ApplicationService {
     public void deleteApplication(Integer id) {
         applicationRepository.deleteById(id);
     }
+
+    @Override
+    public List<ApplicationDTO> getApplicationSummaries() {
+        return applicationRepository.findAllSummaries();
+    }
+
+    @Override
+    public List<ApplicationDTO> getApplicationSummariesByJobSeeker(Integer jobSeekerId) {
+        return applicationRepository.findSummariesByJobSeekerId(jobSeekerId);
+    }
+
+    @Override
+    public PageDTO<ApplicationDTO> getApplicationSummariesByJob(Integer jobId, int page, int size) {
+        return toPage(applicationRepository.findSummariesByJobId(jobId, pageable(page, size)));
+    }
+
+    @Override
+    public PageDTO<ApplicationDTO> getApplicationSummariesByEmployer(Long employerId, int page, int size) {
+        return toPage(applicationRepository.findSummariesByEmployerId(employerId, pageable(page, size)));
+    }
+
+    private static Pageable pageable(int page, int size) {
+        return PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    private static PageDTO<ApplicationDTO> toPage(Page<ApplicationDTO> result) {
+        return new PageDTO<>(result.getContent(), result.getNumber(), result.getSize(),
+                result.getTotalElements(), result.getTotalPages());
+    }
 }
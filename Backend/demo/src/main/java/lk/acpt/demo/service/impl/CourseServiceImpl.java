@@ -1,22 +1,49 @@
 package lk.acpt.demo.service.impl;
 
+import lk.acpt.demo.dto.CourseDTO;
 import lk.acpt.demo.entity.Course;
 import lk.acpt.demo.repositories.CourseRepository;
 import lk.acpt.demo.service.CourseService;
+import lk.acpt.demo.service.ResourceVersionService;
+import lk.acpt.demo.service.ThumbnailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class CourseServiceImpl implements CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     @Override
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getCourseCatalog() {
+        return assemble(courseRepository.findCatalog());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CourseDTO> getCourseDetails(Integer id) {
+        return assemble(courseRepository.findCatalogById(id)).stream().findFirst();
+    }
+
     @Override
     public Course getCourseById(Integer id) {
         return courseRepository.findById(id)
@@ -25,7 +52,9 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        resourceVersionService.bump(ResourceVersionService.COURSES);
+        return saved;
     }
 
     @Override
@@ -34,11 +63,51 @@ public class CourseServiceImpl implements CourseService {
         existing.setTitle(course.getTitle());
         existing.setDescription(course.getDescription());
         existing.setTrainer(course.getTrainer());
-        return courseRepository.save(existing);
+        Course saved = courseRepository.save(existing);
+        resourceVersionService.bump(ResourceVersionService.COURSES);
+        return saved;
     }
 
     @Override
     public void deleteCourse(Integer id) {
         courseRepository.deleteById(id);
+        resourceVersionService.bump(ResourceVersionService.COURSES);
+    }
+
+    // Stitches modules and prerequisites onto their courses with one query each, whatever the page size
+    private List<CourseDTO> assemble(List<CourseRepository.CatalogView> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, CourseDTO> courses = new HashMap<>();
+        List<CourseDTO> result = new ArrayList<>(rows.size());
+        for (CourseRepository.CatalogView row : rows) {
+            CourseDTO dto = new CourseDTO();
+            dto.setId(row.getId());
+            dto.setTitle(row.getTitle());
+            dto.setDescription(row.getDescription());
+            dto.setDuration(row.getDuration());
+            dto.setLevel(row.getLevel());
+            dto.setCategory(row.getCategory());
+            dto.setCreatedAt(row.getCreatedAt());
+            dto.setPrerequisites(new ArrayList<>());
+            dto.setModules(new ArrayList<>());
+            if (row.getTrainerId() != null) {
+                dto.setTrainerId(row.getTrainerId());
+                dto.setTrainer(new CourseDTO.TrainerSummaryDTO(row.getTrainerId(), row.getTrainerFirstName(),
+                        row.getTrainerLastName(), row.getTrainerExpertise(),
+                        thumbnailService.thumbnailUrl(row.getTrainerProfilePictureUrl(), ThumbnailService.AVATAR)));
+            }
+            courses.put(dto.getId(), dto);
+            result.add(dto);
+        }
+        for (CourseRepository.ModuleView module : courseRepository.findModulesByCourseIds(courses.keySet())) {
+            courses.get(module.getCourseId()).getModules().add(new CourseDTO.CourseModuleDTO(
+                    module.getId(), module.getTitle(), module.getDescription(), module.getDuration()));
+        }
+        for (CourseRepository.PrerequisiteView prerequisite : courseRepository.findPrerequisitesByCourseIds(courses.keySet())) {
+            courses.get(prerequisite.getCourseId()).getPrerequisites().add(prerequisite.getPrerequisite());
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,46 @@
 package lk.acpt.demo.service.impl;
 
+import lk.acpt.demo.dto.EmployerDashboardDTO;
 import lk.acpt.demo.entity.Employer;
+import lk.acpt.demo.repositories.ApplicationRepository;
 import lk.acpt.demo.repositories.EmployerRepository;
+import lk.acpt.demo.repositories.JobRepository;
 import lk.acpt.demo.service.EmployerService;
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ThumbnailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class EmployerServiceImpl implements EmployerService {
+    private static final int UPCOMING_DEADLINES = 5;
+    // What ApplicationController records when an application is created without a status
+    private static final String DEFAULT_STATUS = "PENDING";
+
     @Autowired
     private EmployerRepository employerRepository;
 
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     @Override
     public List<Employer> getAllEmployers() {
         return employerRepository.findAll();
@@ -48,7 +77,11 @@ public class EmployerServiceImpl implements EmployerService {
 
     @Override
     public void deleteEmployer(Integer id) {
-        employerRepository.deleteById(id);
+        employerRepository.findById(id).ifPresent(employer -> {
+            employerRepository.delete(employer);
+            fileStoreService.release(employer.getProfilePictureUrl());
+            fileStoreService.release(employer.getCompanyLogoUrl());
+        });
     }
 
     @Override
@@ -58,23 +91,13 @@ public class EmployerServiceImpl implements EmployerService {
             throw new RuntimeException("Invalid file. Please upload an image file.");
         }
 
-        // Delete old profile picture if it exists
-        deleteOldProfilePicture(employer.getProfilePictureUrl());
-
-        String uploadDir = System.getProperty("user.dir") + java.io.File.separator + "uploads" + java.io.File.separator + "profile";
-        java.io.File dir = new java.io.File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        String username = employer.getUsername();
-        String fileName = "profile_" + username + "_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        java.io.File dest = new java.io.File(dir, fileName);
-        try {
-            file.transferTo(dest);
-        } catch (java.io.IOException e) {
-            throw new RuntimeException("Failed to save profile picture.", e);
-        }
-        String fullUrl = "http://localhost:8080/uploads/profile/" + fileName;
-        employer.setProfilePictureUrl(fullUrl);
-        return employerRepository.save(employer);
+        String previous = employer.getProfilePictureUrl();
+        employer.setProfilePictureUrl(fileStoreService.store(file));
+        thumbnailService.generateThumbnails(employer.getProfilePictureUrl());
+        Employer saved = employerRepository.save(employer);
+        // Only once the new URL is saved, so a failed save never leaves the profile pointing at a deleted file
+        fileStoreService.release(previous);
+        return saved;
     }
 
     @Override
@@ -84,56 +107,57 @@ public class EmployerServiceImpl implements EmployerService {
             throw new RuntimeException("Invalid file. Please upload an image file.");
         }
 
-        // Delete old company logo if it exists
-        deleteOldCompanyLogo(employer.getCompanyLogoUrl());
-
-        String uploadDir = System.getProperty("user.dir") + java.io.File.separator + "uploads" + java.io.File.separator + "company-logos";
-        java.io.File dir = new java.io.File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        String username = employer.getUsername();
-        String fileName = "company_logo_" + username + "_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        java.io.File dest = new java.io.File(dir, fileName);
-        try {
-            file.transferTo(dest);
-        } catch (java.io.IOException e) {
-            throw new RuntimeException("Failed to save company logo.", e);
-        }
-        String fullUrl = "http://localhost:8080/uploads/company-logos/" + fileName;
-        employer.setCompanyLogoUrl(fullUrl);
-        return employerRepository.save(employer);
+        String previous = employer.getCompanyLogoUrl();
+        employer.setCompanyLogoUrl(fileStoreService.store(file));
+        thumbnailService.generateThumbnails(employer.getCompanyLogoUrl());
+        Employer saved = employerRepository.save(employer);
+        fileStoreService.release(previous);
+        return saved;
     }
 
-    private void deleteOldCompanyLogo(String companyLogoUrl) {
-        if (companyLogoUrl != null && !companyLogoUrl.isEmpty()) {
-            try {
-                // Extract filename from URL
-                String fileName = companyLogoUrl.substring(companyLogoUrl.lastIndexOf("/") + 1);
-                String uploadDir = System.getProperty("user.dir") + java.io.File.separator + "uploads" + java.io.File.separator + "company-logos";
-                java.io.File oldFile = new java.io.File(uploadDir, fileName);
-                if (oldFile.exists()) {
-                    oldFile.delete();
-                }
-            } catch (Exception e) {
-                // Log the error but don't stop the upload process
-                System.err.println("Failed to delete old company logo: " + e.getMessage());
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmployerDashboardDTO> getDashboard(Integer id) {
+        Optional<EmployerRepository.EmployerNameView> employer = employerRepository.findNameById(id);
+        if (employer.isEmpty()) {
+            return Optional.empty();
+        }
+        Long employerId = id.longValue();
+
+        // Rows arrive grouped by job, newest job first
+        Map<Integer, EmployerDashboardDTO.JobStatsDTO> jobs = new LinkedHashMap<>();
+        Map<String, Long> totalsByStatus = new LinkedHashMap<>();
+        long applicationCount = 0;
+        for (JobRepository.JobStatusCountView row : jobRepository.countApplicationsByStatus(employerId)) {
+            EmployerDashboardDTO.JobStatsDTO job = jobs.computeIfAbsent(row.getJobId(), jobId ->
+                    new EmployerDashboardDTO.JobStatsDTO(jobId, row.getTitle(), row.getLocation(), row.getJobTime(),
+                            row.getDeadline(), 0, new LinkedHashMap<>()));
+            if (row.getApplications() == 0) {
+                continue;
             }
+            String status = row.getStatus() != null ? row.getStatus() : DEFAULT_STATUS;
+            job.getApplicationsByStatus().merge(status, row.getApplications(), Long::sum);
+            job.setApplicationCount(job.getApplicationCount() + row.getApplications());
+            totalsByStatus.merge(status, row.getApplications(), Long::sum);
+            applicationCount += row.getApplications();
         }
-    }
 
-    private void deleteOldProfilePicture(String profilePictureUrl) {
-        if (profilePictureUrl != null && !profilePictureUrl.isEmpty()) {
-            try {
-                // Extract filename from URL
-                String fileName = profilePictureUrl.substring(profilePictureUrl.lastIndexOf("/") + 1);
-                String uploadDir = System.getProperty("user.dir") + java.io.File.separator + "uploads" + java.io.File.separator + "profile";
-                java.io.File oldFile = new java.io.File(uploadDir, fileName);
-                if (oldFile.exists()) {
-                    oldFile.delete();
-                }
-            } catch (Exception e) {
-                // Log the error but don't stop the upload process
-                System.err.println("Failed to delete old profile picture: " + e.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        List<EmployerDashboardDTO.JobStatsDTO> upcoming = new ArrayList<>();
+        long openJobCount = 0;
+        for (EmployerDashboardDTO.JobStatsDTO job : jobs.values()) {
+            if (job.getDeadline() == null) {
+                openJobCount++;
+            } else if (!job.getDeadline().isBefore(now)) {
+                openJobCount++;
+                upcoming.add(job);
             }
         }
+        upcoming.sort(Comparator.comparing(EmployerDashboardDTO.JobStatsDTO::getDeadline));
+
+        long applicantCount = applicationCount == 0 ? 0 : applicationRepository.countApplicantsByEmployerId(employerId);
+        return Optional.of(new EmployerDashboardDTO(id, employer.get().getCompanyName(), jobs.size(), openJobCount,
+                applicationCount, applicantCount, totalsByStatus, new ArrayList<>(jobs.values()),
+                upcoming.subList(0, Math.min(UPCOMING_DEADLINES, upcoming.size()))));
     }
 }
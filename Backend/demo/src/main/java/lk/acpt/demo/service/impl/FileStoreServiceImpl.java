@@ -0,0 +1,229 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.storage.FileStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed upload store. Every upload is kept once, under the key {@code files/<first two hex digits>/<sha256>.<ext>}
+ * of the {@link FileStorage}, with a row in {@code stored_file} counting the profiles that point at it. The two-digit
+ * shard keeps any one directory of the local backend to a 256th of the uploads.
+ * <p>
+ * The servlet container has already buffered the multipart body, so the upload is first hashed by reading it
+ * back; only content that is not stored yet is then written. Uploading the same picture again costs one
+ * increment and no write. Because a URL names
+ * its content, it never changes meaning and is served with immutable cache headers.
+ */
+@Service
+public class FileStoreServiceImpl implements FileStoreService {
+    private static final Logger log = LoggerFactory.getLogger(FileStoreServiceImpl.class);
+    private static final String FILES_DIR = "files";
+    // Anything else is served as a download rather than rendered by the browser
+    private static final Set<String> EXTENSIONS = Set.of("pdf", "png", "jpg", "jpeg", "gif", "webp", "avif");
+    private static final String DEFAULT_EXTENSION = "bin";
+    private static final Pattern STORED_NAME = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]+");
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    // Where uploads went before they were content-addressed; those files are owned by one profile each
+    private static final Set<String> LEGACY_DIRS = Set.of("profile", "cv", "company-logos");
+
+    private static final String RETAIN_SQL = "insert into stored_file (hash, file_name, size, reference_count, created_at) "
+            + "values (?, ?, ?, 1, ?) on duplicate key update reference_count = reference_count + 1";
+
+    private record StoredName(String fileName, int referenceCount) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${app.uploads.base-url:http://localhost:8080/uploads/}")
+    private String baseUrl;
+
+    @Override
+    @Transactional
+    public String store(MultipartFile file) {
+        try {
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = sha256(in);
+            }
+            String shard = hash.substring(0, 2);
+            // The upsert locks the row, so a concurrent release of the same content cannot delete the file under us
+            jdbcTemplate.update(RETAIN_SQL, hash, hash + "." + extension(file.getOriginalFilename()), file.getSize(),
+                    Timestamp.valueOf(LocalDateTime.now()));
+            String fileName = jdbcTemplate.queryForObject("select file_name from stored_file where hash = ?", String.class, hash);
+            String key = FILES_DIR + "/" + shard + "/" + fileName;
+            if (!fileStorage.exists(key)) {
+                String contentType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+                fileStorage.put(key, file, file.getSize(), contentType);
+            }
+            return baseUrl + key;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file.", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void retain(String url) {
+        String hash = storedHash(url);
+        if (hash != null) {
+            jdbcTemplate.update("update stored_file set reference_count = reference_count + 1 where hash = ?", hash);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(String url) {
+        if (url == null || url.isEmpty()) {
+            return;
+        }
+        String hash = storedHash(url);
+        if (hash == null) {
+            deleteLegacyFile(url);
+            return;
+        }
+        // Locking the row first means no concurrent store can re-reference the file while it is deleted
+        List<StoredName> rows = lock(hash);
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (rows.get(0).referenceCount() > 1) {
+            jdbcTemplate.update("update stored_file set reference_count = reference_count - 1 where hash = ?", hash);
+            return;
+        }
+        delete(hash, rows.get(0).fileName());
+    }
+
+    @Override
+    @Transactional
+    public boolean correctReferenceCount(String hash, int observedCount, int references) {
+        List<StoredName> rows = lock(hash);
+        if (rows.isEmpty() || rows.get(0).referenceCount() != observedCount) {
+            return false;
+        }
+        if (references > 0) {
+            jdbcTemplate.update("update stored_file set reference_count = ? where hash = ?", references, hash);
+        } else {
+            delete(hash, rows.get(0).fileName());
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<String> storageKey(String url) {
+        String hash = storedHash(url);
+        return hash == null ? Optional.empty()
+                : Optional.of(FILES_DIR + "/" + hash.substring(0, 2) + "/" + url.substring(url.lastIndexOf('/') + 1));
+    }
+
+    @Override
+    public Optional<String> findUrl(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        try {
+            return fileStorage.list(FILES_DIR + "/" + hash.substring(0, 2) + "/" + hash + ".").stream()
+                    .findFirst()
+                    .map(key -> baseUrl + key);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to look up stored file.", e);
+        }
+    }
+
+    private List<StoredName> lock(String hash) {
+        return jdbcTemplate.query("select file_name, reference_count from stored_file where hash = ? for update",
+                (rs, rowNum) -> new StoredName(rs.getString(1), rs.getInt(2)), hash);
+    }
+
+    private void delete(String hash, String fileName) {
+        jdbcTemplate.update("delete from stored_file where hash = ?", hash);
+        try {
+            fileStorage.delete(FILES_DIR + "/" + hash.substring(0, 2) + "/" + fileName);
+        } catch (IOException e) {
+            log.warn("Failed to delete stored file {}", fileName, e);
+        }
+        eventPublisher.publishEvent(new Deleted(hash));
+    }
+
+    // Only URLs this store handed out carry a hash; anything else (legacy uploads, external links) is not counted
+    private String storedHash(String url) {
+        if (url == null || !url.startsWith(baseUrl + FILES_DIR + "/")) {
+            return null;
+        }
+        Matcher matcher = STORED_NAME.matcher(url.substring(url.lastIndexOf('/') + 1));
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private void deleteLegacyFile(String url) {
+        String[] parts = url.split("/");
+        if (parts.length < 2 || !LEGACY_DIRS.contains(parts[parts.length - 2])) {
+            return;
+        }
+        String name = parts[parts.length - 1];
+        if (name.isEmpty() || name.equals(".") || name.equals("..") || name.contains("\\")) {
+            return;
+        }
+        try {
+            fileStorage.delete(parts[parts.length - 2] + "/" + name);
+        } catch (IOException | RuntimeException e) {
+            // The new file is already in place, so a leftover old one is not worth failing the upload for
+            log.warn("Failed to delete old upload {}", url, e);
+        }
+    }
+
+    private static String extension(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+            return DEFAULT_EXTENSION;
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return EXTENSIONS.contains(extension) ? extension : DEFAULT_EXTENSION;
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
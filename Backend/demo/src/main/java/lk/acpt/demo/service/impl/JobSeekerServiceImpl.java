@@ -1,21 +1,39 @@
 package lk.acpt.demo.service.impl;
 
+import lk.acpt.demo.dto.CandidateSearchHitDTO;
 import lk.acpt.demo.entity.JobSeeker;
 import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.search.CandidateSearchIndex;
+import lk.acpt.demo.service.FileStoreService;
 import lk.acpt.demo.service.JobSeekerService;
+import lk.acpt.demo.service.ResumeTextService;
+import lk.acpt.demo.service.ThumbnailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class JobSeekerServiceImpl implements JobSeekerService {
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     @Autowired
     private JobSeekerRepository jobSeekerRepository;
 
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private ResumeTextService resumeTextService;
+
+    @Autowired
+    private CandidateSearchIndex candidateSearchIndex;
+
     @Override
     public List<JobSeeker> getAllJobSeekers() {
         return jobSeekerRepository.findAll();
@@ -35,34 +53,35 @@ public class JobSeekerServiceImpl implements JobSeekerService {
         // Encode password with Base64
         String encodedPassword = java.util.Base64.getEncoder().encodeToString(jobSeeker.getPassword().getBytes(java.nio.charset.StandardCharsets.UTF_8));
         jobSeeker.setPassword(encodedPassword);
-        // Save the jobseeker first to get the username
-        JobSeeker savedJobSeeker = jobSeekerRepository.save(jobSeeker);
-        String uploadDir = System.getProperty("user.dir") + File.separator + "uploads" + File.separator + "cv";
-        File dir = new File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        String username = savedJobSeeker.getUsername();
-        String fileName = "cv_" + username + "_" + System.currentTimeMillis() + ".pdf";
-        File dest = new File(dir, fileName);
-        try {
-            file.transferTo(dest);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save file.", e);
-        }
-        savedJobSeeker.setResumeUrl("http://localhost:8080/uploads/cv/" + fileName);
-        return jobSeekerRepository.save(savedJobSeeker);
+        jobSeeker.setResumeUrl(fileStoreService.store(file));
+        JobSeeker saved = jobSeekerRepository.save(jobSeeker);
+        resumeTextService.indexJobSeeker(saved.getId());
+        return saved;
     }
 
     @Override
     public JobSeeker updateJobSeeker(Integer id, JobSeeker jobSeeker) {
         JobSeeker existing = getJobSeekerById(id);
+        String previousResumeUrl = existing.getResumeUrl();
         existing.setResumeUrl(jobSeeker.getResumeUrl());
         // set other fields as needed
-        return jobSeekerRepository.save(existing);
+        JobSeeker saved = jobSeekerRepository.save(existing);
+        if (!Objects.equals(previousResumeUrl, saved.getResumeUrl())) {
+            fileStoreService.retain(saved.getResumeUrl());
+            fileStoreService.release(previousResumeUrl);
+            resumeTextService.indexJobSeeker(id);
+        }
+        return saved;
     }
 
     @Override
     public void deleteJobSeeker(Integer id) {
-        jobSeekerRepository.deleteById(id);
+        jobSeekerRepository.findById(id).ifPresent(jobSeeker -> {
+            jobSeekerRepository.delete(jobSeeker);
+            fileStoreService.release(jobSeeker.getResumeUrl());
+            fileStoreService.release(jobSeeker.getProfilePictureUrl());
+            resumeTextService.indexJobSeeker(id);
+        });
     }
 
     @Override
@@ -72,23 +91,13 @@ public class JobSeekerServiceImpl implements JobSeekerService {
             throw new RuntimeException("Invalid file. Please upload a PDF file.");
         }
 
-        // Delete old CV if it exists
-        deleteOldCv(jobSeeker.getResumeUrl());
-
-        String uploadDir = System.getProperty("user.dir") + File.separator + "uploads" + File.separator + "cv";
-        File dir = new File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        // Use username instead of id in the file name
-        String username = jobSeeker.getUsername();
-        String fileName = "cv_" + username + "_" + System.currentTimeMillis() + ".pdf";
-        File dest = new File(dir, fileName);
-        try {
-            file.transferTo(dest);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save file.", e);
-        }
-        jobSeeker.setResumeUrl("http://localhost:8080/uploads/cv/" + fileName);
-        return jobSeekerRepository.save(jobSeeker);
+        String previous = jobSeeker.getResumeUrl();
+        jobSeeker.setResumeUrl(fileStoreService.store(file));
+        JobSeeker saved = jobSeekerRepository.save(jobSeeker);
+        // Only once the new URL is saved, so a failed save never leaves the profile pointing at a deleted file
+        fileStoreService.release(previous);
+        resumeTextService.indexJobSeeker(id);
+        return saved;
     }
 
     @Override
@@ -98,56 +107,18 @@ public class JobSeekerServiceImpl implements JobSeekerService {
             throw new RuntimeException("Invalid file. Please upload an image file.");
         }
 
-        // Delete old profile picture if it exists
-        deleteOldProfilePicture(jobSeeker.getProfilePictureUrl());
-
-        String uploadDir = System.getProperty("user.dir") + File.separator + "uploads" + File.separator + "profile";
-        File dir = new File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        String username = jobSeeker.getUsername();
-        String fileName = "profile_" + username + "_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        File dest = new File(dir, fileName);
-        try {
-            file.transferTo(dest);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save profile picture.", e);
-        }
-        String fullUrl = "http://localhost:8080/uploads/profile/" + fileName;
-        jobSeeker.setProfilePictureUrl(fullUrl);
-        return jobSeekerRepository.save(jobSeeker);
+        String previous = jobSeeker.getProfilePictureUrl();
+        jobSeeker.setProfilePictureUrl(fileStoreService.store(file));
+        thumbnailService.generateThumbnails(jobSeeker.getProfilePictureUrl());
+        JobSeeker saved = jobSeekerRepository.save(jobSeeker);
+        fileStoreService.release(previous);
+        // Search hits show the avatar; the CV text itself is not extracted again
+        resumeTextService.indexJobSeeker(id);
+        return saved;
     }
 
-    private void deleteOldProfilePicture(String profilePictureUrl) {
-        if (profilePictureUrl != null && !profilePictureUrl.isEmpty()) {
-            try {
-                // Extract filename from URL
-                String fileName = profilePictureUrl.substring(profilePictureUrl.lastIndexOf("/") + 1);
-                String uploadDir = System.getProperty("user.dir") + File.separator + "uploads" + File.separator + "profile";
-                File oldFile = new File(uploadDir, fileName);
-                if (oldFile.exists()) {
-                    oldFile.delete();
-                }
-            } catch (Exception e) {
-                // Log the error but don't stop the upload process
-                System.err.println("Failed to delete old profile picture: " + e.getMessage());
-            }
-        }
-    }
-
-    private void deleteOldCv(String resumeUrl) {
-        if (resumeUrl != null && !resumeUrl.isEmpty()) {
-            try {
-                // Extract filename from URL
-                String fileName = resumeUrl.substring(resumeUrl.lastIndexOf("/") + 1);
-                String uploadDir = System.getProperty("user.dir") + File.separator + "uploads" + File.separator + "cv";
-                File oldFile = new File(uploadDir, fileName);
-                if (oldFile.exists()) {
-                    oldFile.delete();
-                }
-            } catch (Exception e) {
-                // Log the error but don't stop the upload process
-                System.err.println("Failed to delete old CV: " + e.getMessage());
-            }
-        }
+    @Override
+    public List<CandidateSearchHitDTO> searchCandidates(String query, int limit) {
+        return candidateSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
     }
 }
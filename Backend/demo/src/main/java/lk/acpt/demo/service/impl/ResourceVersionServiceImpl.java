@@ -0,0 +1,42 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.service.ResourceVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Versions live in the database so every node hands out the same ETag for the same data,
+ * and a restart does not make clients download everything again.
+ * <p>
+ * Writers bump a version after (or in the same transaction as) their change, never before it:
+ * a reader then can pair an old version with new data, which only costs one extra download,
+ * but never a new version with old data, which a client would keep forever.
+ * Plain JDBC is used so the bump does not invalidate Hibernate's query cache.
+ */
+@Service
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+    private static final String BUMP_SQL = "insert into resource_version (name, version) values (?, 1) "
+            + "on duplicate key update version = version + 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long currentVersion(String resource) {
+        List<Long> versions = jdbcTemplate.queryForList("select version from resource_version where name = ?", Long.class, resource);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    @Override
+    public void bump(String resource) {
+        jdbcTemplate.update(BUMP_SQL, resource);
+    }
+
+    @Override
+    public String etag(String resource) {
+        return "\"" + resource + "-" + currentVersion(resource) + "\"";
+    }
+}
@@ -0,0 +1,199 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.entity.ResumeText;
+import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.repositories.ResumeTextRepository;
+import lk.acpt.demo.search.CandidateSearchIndex;
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ResumeTextService;
+import lk.acpt.demo.storage.FileStorage;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Feeds the {@link CandidateSearchIndex} from a single background thread: each job reads the seeker, takes
+ * their CV text from {@code resume_text} or extracts it with PDFBox, and replaces the seeker's entry in the
+ * index. The text is keyed by the hash of the stored PDF, so only a CV with new content is ever parsed.
+ */
+@Service
+public class ResumeTextServiceImpl implements ResumeTextService {
+    private static final Logger log = LoggerFactory.getLogger(ResumeTextServiceImpl.class);
+    // resume_text.text is a TEXT column of 64 KB, and a character takes up to four bytes in utf8mb4
+    private static final int MAX_CHARS = 16_000;
+    private static final int MAX_PAGES = 20;
+    private static final int BACKFILL_BATCH_SIZE = 100;
+    // Anything larger is a scan or a portfolio rather than a CV, and is left out of the index
+    private static final long MAX_BYTES = 20L * 1024 * 1024;
+    // A word split over two lines, as in "develop-\nment"
+    private static final Pattern HYPHENATED_BREAK = Pattern.compile("(\\p{L})-\\R\\s*(\\p{Ll})");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\p{Z}\\p{Cc}\\p{Cf}]+");
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private ResumeTextRepository resumeTextRepository;
+
+    @Autowired
+    private CandidateSearchIndex candidateSearchIndex;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    @Qualifier("resumeTextExecutor")
+    private TaskExecutor resumeTextExecutor;
+
+    @Override
+    public void indexJobSeeker(Integer jobSeekerId) {
+        resumeTextExecutor.execute(() -> index(jobSeekerId));
+    }
+
+    // CVs uploaded while their job was dropped, or before this index existed, are extracted now. The backfill is
+    // one task that works through them in batches, so it never competes for room in the bounded queue
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        List<Integer> unextracted = candidateSearchIndex.rebuild();
+        if (!unextracted.isEmpty()) {
+            log.info("Extracting the text of {} CVs for candidate search", unextracted.size());
+            resumeTextExecutor.execute(() -> backfill(unextracted));
+        }
+    }
+
+    // In a transaction of its own: the one that deleted the file has already committed
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onStoredFileDeleted(FileStoreService.Deleted event) {
+        resumeTextRepository.deleteById(event.hash());
+    }
+
+    private void backfill(List<Integer> jobSeekerIds) {
+        for (int from = 0; from < jobSeekerIds.size(); from += BACKFILL_BATCH_SIZE) {
+            List<Integer> batch = jobSeekerIds.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, jobSeekerIds.size()));
+            try {
+                // Seekers deleted since the rebuild are missing here; their delete already removed them from the index
+                jobSeekerRepository.findAllById(batch).forEach(this::index);
+            } catch (RuntimeException e) {
+                log.warn("Failed to load job seekers {} to {} for candidate search", batch.get(0),
+                        batch.get(batch.size() - 1), e);
+            }
+        }
+        log.info("Finished extracting CV texts for candidate search");
+    }
+
+    private void index(Integer jobSeekerId) {
+        try {
+            Optional<JobSeeker> seeker = jobSeekerRepository.findById(jobSeekerId);
+            if (seeker.isEmpty()) {
+                candidateSearchIndex.remove(jobSeekerId);
+                return;
+            }
+            index(seeker.get());
+        } catch (RuntimeException e) {
+            log.warn("Failed to index job seeker {} for candidate search", jobSeekerId, e);
+        }
+    }
+
+    private void index(JobSeeker seeker) {
+        try {
+            String resumeUrl = seeker.getResumeUrl();
+            String text = candidateSearchIndex.resumeHash(resumeUrl)
+                    .map(hash -> resumeTextRepository.findById(hash)
+                            .map(ResumeText::getText)
+                            .orElseGet(() -> extract(hash, fileStoreService.storageKey(resumeUrl).orElseThrow())))
+                    .orElse(null);
+            candidateSearchIndex.index(seeker, text);
+        } catch (RuntimeException e) {
+            log.warn("Failed to index job seeker {} for candidate search", seeker.getId(), e);
+        }
+    }
+
+    private String extract(String hash, String key) {
+        String text;
+        try {
+            text = normalize(read(key));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read CV " + key, e);
+        }
+        try {
+            resumeTextRepository.save(new ResumeText(hash, text, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Saved meanwhile for another seeker with the same file
+        }
+        return text;
+    }
+
+    // Storage errors are thrown so the CV is tried again later; a PDF that cannot be parsed just has no text
+    private String read(String key) throws IOException {
+        Resource resource = fileStorage.resource(key);
+        if (resource.contentLength() > MAX_BYTES) {
+            return "";
+        }
+        if (resource.isFile()) {
+            return strip(resource.getFile(), key);
+        }
+        Path temp = Files.createTempFile("resume", ".pdf");
+        try {
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return strip(temp.toFile(), key);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String strip(File pdf, String key) {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setEndPage(MAX_PAGES);
+            return stripper.getText(document);
+        } catch (IOException e) {
+            log.info("No text could be read from CV {}: {}", key, e.getMessage());
+            return "";
+        }
+    }
+
+    // NFKC turns ligatures such as "ﬁ" and full-width letters into plain ones, so they match typed queries
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        normalized = HYPHENATED_BREAK.matcher(normalized).replaceAll("$1$2");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        if (normalized.length() <= MAX_CHARS) {
+            return normalized;
+        }
+        int end = Character.isHighSurrogate(normalized.charAt(MAX_CHARS - 1)) ? MAX_CHARS - 1 : MAX_CHARS;
+        return normalized.substring(0, end);
+    }
+}
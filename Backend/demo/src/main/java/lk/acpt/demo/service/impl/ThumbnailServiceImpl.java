@@ -0,0 +1,219 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ThumbnailService;
+import lk.acpt.demo.storage.FileStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scales uploaded images down to the fixed {@link #SIZES} in the background, so lists download a few
+ * kilobytes per avatar instead of the original upload.
+ * <p>
+ * Variants are stored under the key {@code thumbnails/<size>/<xx>/<sha256>.jpg} (or {@code .png} when the image
+ * has transparency) next to the stored files and named after the original's hash, so their URLs are known
+ * before they exist and never change meaning. Until a variant is written its URL redirects to the original.
+ */
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailServiceImpl.class);
+    private static final String THUMBNAILS_DIR = "thumbnails";
+    // What ImageIO can decode out of the box; other uploads are always served as they are
+    private static final Set<String> READABLE = Set.of("png", "jpg", "jpeg", "gif");
+    private static final float JPEG_QUALITY = 0.85f;
+    // Decoded at 4 bytes per pixel; anything larger is left without thumbnails rather than risk the heap
+    private static final long MAX_PIXELS = 25_000_000;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${app.uploads.base-url:http://localhost:8080/uploads/}")
+    private String baseUrl;
+
+    // Hashes being scaled right now, so repeated requests for a missing variant do not queue the same work
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    @Override
+    @Async("thumbnailExecutor")
+    public void generateThumbnails(String url) {
+        Optional<String> original = fileStoreService.storageKey(url).filter(key -> READABLE.contains(extension(key)));
+        if (original.isEmpty()) {
+            return;
+        }
+        String hash = hash(original.get());
+        if (!inProgress.add(hash)) {
+            return;
+        }
+        try {
+            BufferedImage image = null;
+            for (int size : SIZES) {
+                if (findThumbnail(hash, size).isPresent()) {
+                    continue;
+                }
+                if (image == null) {
+                    image = read(original.get());
+                    if (image == null) {
+                        log.warn("Cannot decode {}, serving it without thumbnails", original.get());
+                        return;
+                    }
+                }
+                write(scale(image, size), thumbnailKey(hash, size, image.getColorModel().hasAlpha() ? "png" : "jpg"));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to create thumbnails for {}", original.get(), e);
+        } finally {
+            inProgress.remove(hash);
+        }
+    }
+
+    @Override
+    public String thumbnailUrl(String url, int size) {
+        Optional<String> original = fileStoreService.storageKey(url);
+        if (original.isEmpty() || !READABLE.contains(extension(original.get())) || !SIZES.contains(size)) {
+            return url;
+        }
+        String hash = hash(original.get());
+        return baseUrl + THUMBNAILS_DIR + "/" + size + "/" + hash.substring(0, 2) + "/" + hash;
+    }
+
+    @Override
+    public Optional<String> findThumbnail(String hash, int size) {
+        if (!hash.matches("[0-9a-f]{64}") || !SIZES.contains(size)) {
+            return Optional.empty();
+        }
+        try {
+            for (String format : new String[] {"jpg", "png"}) {
+                String key = thumbnailKey(hash, size, format);
+                if (fileStorage.exists(key)) {
+                    return Optional.of(key);
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Only once the release has committed; until then the original may still be re-referenced
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStoredFileDeleted(FileStoreService.Deleted event) {
+        for (int size : SIZES) {
+            for (String format : new String[] {"jpg", "png"}) {
+                String key = thumbnailKey(event.hash(), size, format);
+                try {
+                    fileStorage.delete(key);
+                } catch (IOException e) {
+                    log.warn("Failed to delete thumbnail {}", key, e);
+                }
+            }
+        }
+    }
+
+    private BufferedImage read(String key) throws IOException {
+        try (InputStream content = fileStorage.resource(key).getInputStream();
+             ImageInputStream in = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int size) {
+        double factor = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halving step by step keeps bilinear filtering from skipping pixels on large reductions
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth > width || currentHeight > height);
+        return current;
+    }
+
+    // Thumbnails are a few kilobytes, so they are encoded in memory and stored in one go
+    private void write(BufferedImage image, String key) throws IOException {
+        String format = extension(key).equals("png") ? "png" : "jpeg";
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(encoded)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format.equals("jpeg")) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        fileStorage.put(key, new ByteArrayResource(encoded.toByteArray()), encoded.size(), "image/" + format);
+    }
+
+    private static String thumbnailKey(String hash, int size, String format) {
+        return THUMBNAILS_DIR + "/" + size + "/" + hash.substring(0, 2) + "/" + hash + "." + format;
+    }
+
+    private static String hash(String key) {
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    private static String extension(String key) {
+        return key.substring(key.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
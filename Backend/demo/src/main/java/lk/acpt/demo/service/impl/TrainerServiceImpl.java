@@ -2,6 +2,9 @@ package lk.acpt.demo.service.impl;
 
 import lk.acpt.demo.entity.Trainer;
 import lk.acpt.demo.repositories.TrainerRepository;
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ResourceVersionService;
+import lk.acpt.demo.service.ThumbnailService;
 import lk.acpt.demo.service.TrainerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,6 +15,15 @@ public class TrainerServiceImpl implements TrainerService {
     @Autowired
     private TrainerRepository trainerRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     @Override
     public List<Trainer> getAllTrainers() {
         return trainerRepository.findAll();
@@ -50,12 +62,18 @@ public class TrainerServiceImpl implements TrainerService {
             existing.setAchievements(trainer.getAchievements());
         }
         
-        return trainerRepository.save(existing);
+        Trainer saved = trainerRepository.save(existing);
+        // Course listings show each trainer's expertise and picture
+        resourceVersionService.bump(ResourceVersionService.COURSES);
+        return saved;
     }
 
     @Override
     public void deleteTrainer(Integer id) {
-        trainerRepository.deleteById(id);
+        trainerRepository.findById(id).ifPresent(trainer -> {
+            trainerRepository.delete(trainer);
+            fileStoreService.release(trainer.getProfilePictureUrl());
+        });
     }
 
     @Override
@@ -65,39 +83,13 @@ public class TrainerServiceImpl implements TrainerService {
             throw new RuntimeException("Invalid file. Please upload an image file.");
         }
 
-        // Delete old profile picture if it exists
-        deleteOldProfilePicture(trainer.getProfilePictureUrl());
-
-        String uploadDir = System.getProperty("user.dir") + java.io.File.separator + "uploads" + java.io.File.separator + "profile";
-        java.io.File dir = new java.io.File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        String username = trainer.getUsername();
-        String fileName = "profile_" + username + "_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        java.io.File dest = new java.io.File(dir, fileName);
-        try {
-            file.transferTo(dest);
-        } catch (java.io.IOException e) {
-            throw new RuntimeException("Failed to save profile picture.", e);
-        }
-        String fullUrl = "http://localhost:8080/uploads/profile/" + fileName;
-        trainer.setProfilePictureUrl(fullUrl);
-        return trainerRepository.save(trainer);
-    }
-
-    private void deleteOldProfilePicture(String profilePictureUrl) {
-        if (profilePictureUrl != null && !profilePictureUrl.isEmpty()) {
-            try {
-                // Extract filename from URL
-                String fileName = profilePictureUrl.substring(profilePictureUrl.lastIndexOf("/") + 1);
-                String uploadDir = System.getProperty("user.dir") + java.io.File.separator + "uploads" + java.io.File.separator + "profile";
-                java.io.File oldFile = new java.io.File(uploadDir, fileName);
-                if (oldFile.exists()) {
-                    oldFile.delete();
-                }
-            } catch (Exception e) {
-                // Log the error but don't stop the upload process
-                System.err.println("Failed to delete old profile picture: " + e.getMessage());
-            }
-        }
+        String previous = trainer.getProfilePictureUrl();
+        trainer.setProfilePictureUrl(fileStoreService.store(file));
+        thumbnailService.generateThumbnails(trainer.getProfilePictureUrl());
+        Trainer saved = trainerRepository.save(trainer);
+        // Only once the new URL is saved, so a failed save never leaves the profile pointing at a deleted file
+        fileStoreService.release(previous);
+        resourceVersionService.bump(ResourceVersionService.COURSES);
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,26 +1,41 @@
 package lk.acpt.demo.service.impl;
 
+import lk.acpt.demo.dto.PageDTO;
+import lk.acpt.demo.dto.UserLoginResponseDTO;
+import lk.acpt.demo.dto.UserSummaryDTO;
 import lk.acpt.demo.entity.User;
 import lk.acpt.demo.repositories.UserRepo;
+import lk.acpt.demo.service.ThumbnailService;
 import lk.acpt.demo.service.UserService;
 import lk.acpt.demo.util.JWTTokenGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class UserServiceImpl implements UserService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private UserRepo userRepo;
 
     @Autowired
     private JWTTokenGenerator jwtTokenGenerator;
 
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     @Override
     public User register(User user) {
+        if (userRepo.existsByUsername(user.getUsername())) {
+            return null;
+        }
         // Encode password with Base64
         String encodedPassword = Base64.getEncoder().encodeToString(user.getPassword().getBytes(StandardCharsets.UTF_8));
         user.setPassword(encodedPassword);
@@ -28,29 +43,51 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public String login(String username, String password) {
-        Optional<User> userOpt = userRepo.findAll().stream()
-                .filter(u -> username != null && username.equals(u.getUsername()))
-                .findFirst();
-        if (userOpt.isPresent()) {
-            String encodedPassword = Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8));
-            if (userOpt.get().getPassword().equals(encodedPassword)) {
+    public UserLoginResponseDTO login(String username, String password) {
+        if (username == null || password == null) {
+            return null;
+        }
+        // Single lookup on the username index; the matching row is used for the response
+        String encodedPassword = Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8));
+        for (User user : userRepo.findAllByUsername(username)) {
+            if (encodedPassword.equals(user.getPassword())) {
                 // Generate JWT token using JWTTokenGenerator
-                return jwtTokenGenerator.generateToken(userOpt.get());
+                String token = jwtTokenGenerator.generateToken(user);
+                return new UserLoginResponseDTO(user.getId(), token, user.getRole());
             }
         }
         return null;
     }
 
     @Override
-    public Iterable<User> getAllUsers() {
-        return userRepo.findAll();
+    public User getUserByUsername(String username) {
+        return userRepo.findByUsername(username);
     }
 
     @Override
-    public User getUserByUsername(String username) {
-        return userRepo.findByUsername(username);
+    public PageDTO<UserSummaryDTO> getUserDirectory(String role, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        Page<UserRepo.DirectoryView> result = role == null || role.isBlank()
+                ? userRepo.findDirectory(pageRequest)
+                : userRepo.findDirectoryByRole(role, pageRequest);
+        return new PageDTO<>(result.getContent().stream().map(this::toSummary).toList(),
+                result.getNumber(), result.getSize(), result.getTotalElements(), result.getTotalPages());
     }
-}
 
+    @Override
+    public List<UserSummaryDTO> getUserSummaries(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return userRepo.findDirectoryByIds(ids).stream().map(this::toSummary).toList();
+    }
 
+    // Directory entries are drawn as small cards, so pictures point at thumbnails
+    private UserSummaryDTO toSummary(UserRepo.DirectoryView view) {
+        return new UserSummaryDTO(view.getId(), view.getUsername(), view.getRole(), view.getFirstName(),
+                view.getLastName(), view.getEmail(),
+                thumbnailService.thumbnailUrl(view.getProfilePictureUrl(), ThumbnailService.AVATAR), view.getCompanyName(),
+                thumbnailService.thumbnailUrl(view.getCompanyLogoUrl(), ThumbnailService.LOGO), view.getLocation(), view.getSkills(), view.getResumeUrl(),
+                view.getExperience(), view.getExpertise(), view.getSummary());
+    }
+}
@@ -0,0 +1,18 @@
+package lk.acpt.demo.services;
+
+import lk.acpt.demo.dto.BulkJobImportDTO;
+import lk.acpt.demo.dto.JobDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+public interface JobImportService {
+    int MAX_JOBS = 10_000;
+
+    /** Inserts every job, or none of them if any row is invalid. */
+    BulkJobImportDTO importJobs(List<JobDTO> jobs);
+
+    /** Same as {@link #importJobs} for CSV with a header line naming JobDTO fields. */
+    BulkJobImportDTO importJobsCsv(Reader csv) throws IOException;
+}
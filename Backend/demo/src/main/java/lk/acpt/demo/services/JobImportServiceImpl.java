@@ -0,0 +1,247 @@
+package lk.acpt.demo.services;
+
+import lk.acpt.demo.dto.BulkJobImportDTO;
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.search.JobSearchIndex;
+import lk.acpt.demo.service.ResourceVersionService;
+import lk.acpt.demo.util.CsvReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inserts many jobs with plain JDBC batches instead of one {@code save} per job.
+ * <p>
+ * Job ids stay AUTO_INCREMENT: existing rows, and every other writer of the job table, rely on it.
+ * Hibernate cannot batch IDENTITY inserts because it needs each id before the next insert, but the
+ * JDBC driver can: with {@code rewriteBatchedStatements=true} MySQL Connector/J sends each batch as
+ * a multi-row INSERT and hands back the consecutive ids the server assigned to it.
+ */
+@Service
+public class JobImportServiceImpl implements JobImportService {
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_SQL = "insert into job (title, description, requirements, employer_id, " +
+            "location, job_time, salary, deadline, modality, category) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Column lengths from the Job entity
+    private static final Map<String, Integer> MAX_LENGTHS = Map.of(
+            "title", 255, "location", 255, "jobTime", 50, "salary", 100, "modality", 50, "category", 255);
+
+    // CSV header names, matched case-insensitively
+    private static final Set<String> COLUMNS = Set.of("title", "description", "requirements", "employerid",
+            "location", "jobtime", "salary", "deadline", "modality", "category");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Override
+    @Transactional
+    public BulkJobImportDTO importJobs(List<JobDTO> jobs) {
+        return importRows(jobs, Map.of());
+    }
+
+    @Override
+    @Transactional
+    public BulkJobImportDTO importJobsCsv(Reader csv) throws IOException {
+        CsvReader reader = new CsvReader(csv);
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return importRows(List.of(), Map.of());
+        }
+        for (String column : header) {
+            if (!COLUMNS.contains(column.trim().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Unknown column '" + column + "'");
+            }
+        }
+        List<JobDTO> jobs = new ArrayList<>();
+        Map<Integer, List<String>> parseErrors = new HashMap<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null && jobs.size() <= MAX_JOBS) {
+            if (record.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            JobDTO job = new JobDTO();
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = i < record.size() ? emptyToNull(record.get(i).trim()) : null;
+                if (value != null) {
+                    setField(job, header.get(i).trim(), value, errors);
+                }
+            }
+            jobs.add(job);
+            if (!errors.isEmpty()) {
+                parseErrors.put(jobs.size(), errors);
+            }
+        }
+        return importRows(jobs, parseErrors);
+    }
+
+    private BulkJobImportDTO importRows(List<JobDTO> jobs, Map<Integer, List<String>> parseErrors) {
+        if (jobs.size() > MAX_JOBS) {
+            throw new IllegalArgumentException("At most " + MAX_JOBS + " jobs can be imported at once");
+        }
+        List<BulkJobImportDTO.RowResultDTO> rows = new ArrayList<>(jobs.size());
+        int rejected = 0;
+        for (int i = 0; i < jobs.size(); i++) {
+            List<String> errors = new ArrayList<>(parseErrors.getOrDefault(i + 1, List.of()));
+            validate(jobs.get(i), errors);
+            if (!errors.isEmpty()) {
+                rejected++;
+            }
+            rows.add(new BulkJobImportDTO.RowResultDTO(i + 1, false, null, errors));
+        }
+        if (rejected > 0 || jobs.isEmpty()) {
+            return new BulkJobImportDTO(jobs.size(), 0, rejected, rows);
+        }
+
+        List<JobDTO> saved = new ArrayList<>(jobs.size());
+        for (int from = 0; from < jobs.size(); from += BATCH_SIZE) {
+            List<JobDTO> batch = jobs.subList(from, Math.min(from + BATCH_SIZE, jobs.size()));
+            List<Integer> ids = insertBatch(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                JobDTO job = batch.get(i);
+                job.setId(ids.get(i));
+                saved.add(job);
+                BulkJobImportDTO.RowResultDTO row = rows.get(from + i);
+                row.setCreated(true);
+                row.setJobId(job.getId());
+            }
+        }
+        // Committed together with the rows, so the new ETag never describes the old listing
+        resourceVersionService.bump(ResourceVersionService.JOBS);
+        // Searchable only once the rows are committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                saved.forEach(jobSearchIndex::index);
+            }
+        });
+        return new BulkJobImportDTO(jobs.size(), saved.size(), 0, rows);
+    }
+
+    private List<Integer> insertBatch(List<JobDTO> batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        JobDTO job = batch.get(i);
+                        ps.setString(1, job.getTitle());
+                        ps.setString(2, job.getDescription());
+                        ps.setString(3, job.getRequirements());
+                        ps.setLong(4, job.getEmployerId());
+                        ps.setString(5, job.getLocation());
+                        ps.setString(6, job.getJobTime());
+                        ps.setString(7, job.getSalary());
+                        if (job.getDeadline() != null) {
+                            ps.setTimestamp(8, Timestamp.valueOf(job.getDeadline()));
+                        } else {
+                            ps.setNull(8, Types.TIMESTAMP);
+                        }
+                        ps.setString(9, job.getModality());
+                        ps.setString(10, job.getCategory());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.values().iterator().next()).intValue());
+        }
+        if (ids.size() != batch.size()) {
+            throw new IllegalStateException("Expected " + batch.size() + " generated job ids but got " + ids.size());
+        }
+        return ids;
+    }
+
+    private static void validate(JobDTO job, List<String> errors) {
+        if (job == null) {
+            errors.add("row is empty");
+            return;
+        }
+        if (job.getId() != null) {
+            errors.add("id is assigned by the server");
+        }
+        if (job.getTitle() == null || job.getTitle().isBlank()) {
+            errors.add("title is required");
+        }
+        if (job.getEmployerId() == null) {
+            errors.add("employerId is required");
+        }
+        checkLength(errors, "title", job.getTitle());
+        checkLength(errors, "location", job.getLocation());
+        checkLength(errors, "jobTime", job.getJobTime());
+        checkLength(errors, "salary", job.getSalary());
+        checkLength(errors, "modality", job.getModality());
+        checkLength(errors, "category", job.getCategory());
+    }
+
+    private static void checkLength(List<String> errors, String field, String value) {
+        int max = MAX_LENGTHS.get(field);
+        if (value != null && value.length() > max) {
+            errors.add(field + " is longer than " + max + " characters");
+        }
+    }
+
+    private static void setField(JobDTO job, String column, String value, List<String> errors) {
+        switch (column.toLowerCase(Locale.ROOT)) {
+            case "title" -> job.setTitle(value);
+            case "description" -> job.setDescription(value);
+            case "requirements" -> job.setRequirements(value);
+            case "location" -> job.setLocation(value);
+            case "jobtime" -> job.setJobTime(value);
+            case "salary" -> job.setSalary(value);
+            case "modality" -> job.setModality(value);
+            case "category" -> job.setCategory(value);
+            case "employerid" -> {
+                try {
+                    job.setEmployerId(Integer.valueOf(value));
+                } catch (NumberFormatException e) {
+                    errors.add("employerId '" + value + "' is not a number");
+                }
+            }
+            case "deadline" -> {
+                try {
+                    job.setDeadline(LocalDateTime.parse(value));
+                } catch (DateTimeParseException e) {
+                    errors.add("deadline '" + value + "' is not an ISO date-time");
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown column '" + column + "'");
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -1,11 +1,23 @@
 package lk.acpt.demo.services;
 
+import lk.acpt.demo.dto.CandidateDTO;
+import lk.acpt.demo.dto.CursorPageDTO;
 import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.dto.JobRecommendationDTO;
+import lk.acpt.demo.dto.JobSearchCriteria;
+import lk.acpt.demo.dto.JobSearchHitDTO;
+import lk.acpt.demo.dto.PageDTO;
+import lk.acpt.demo.dto.TrendingJobDTO;
 import java.util.List;
 import java.util.Optional;
 
 public interface JobService {
     List<JobDTO> getAllJobs();
+    CursorPageDTO<JobDTO> searchJobs(JobSearchCriteria criteria, String cursor, int size);
+    List<JobSearchHitDTO> keywordSearch(String query, int limit);
+    Optional<List<JobRecommendationDTO>> recommendJobs(Integer jobSeekerId, int limit);
+    List<TrendingJobDTO> getTrendingJobs(int limit);
+    Optional<PageDTO<CandidateDTO>> getRankedCandidates(Integer jobId, int page, int size);
     Optional<JobDTO> getJobById(Integer id);
     JobDTO createJob(JobDTO jobDTO);
     Optional<JobDTO> updateJob(Integer id, JobDTO jobDTO);
@@ -1,54 +1,259 @@
 package lk.acpt.demo.services;
 
+import lk.acpt.demo.dto.CandidateDTO;
+import lk.acpt.demo.dto.CursorPageDTO;
 import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.dto.JobRecommendationDTO;
+import lk.acpt.demo.dto.JobSearchCriteria;
+import lk.acpt.demo.dto.JobSearchHitDTO;
+import lk.acpt.demo.dto.PageDTO;
+import lk.acpt.demo.dto.TrendingJobDTO;
 import lk.acpt.demo.entity.Job;
+import lk.acpt.demo.repositories.ApplicationRepository;
 import lk.acpt.demo.repositories.JobRepository;
-import org.modelmapper.ModelMapper;
+import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.repositories.JobSpecifications;
+import lk.acpt.demo.search.JobSearchIndex;
+import lk.acpt.demo.search.SkillMatcher;
+import lk.acpt.demo.service.ResourceVersionService;
+import lk.acpt.demo.service.ThumbnailService;
+import lk.acpt.demo.mapper.JobMapper;
+import lk.acpt.demo.stats.JobViewTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 @Service
 public class JobServiceImpl implements JobService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String SORT_DEADLINE = "deadline";
+    private static final int MAX_KEYWORD_RESULTS = 100;
+    private static final int MAX_RECOMMENDATIONS = 50;
+    private static final int MAX_TRENDING = 50;
+    private static final int MAX_RANKED_APPLICANTS = 2000;
+    private static final Comparator<RankedApplication> BEST_APPLICATION_FIRST = Comparator
+            .comparingDouble(RankedApplication::score).reversed()
+            .thenComparing(RankedApplication::applicationId);
+    // Skills the seeker lists outright count fully; terms only found in their experience count half
+    private static final float SKILL_WEIGHT = 1f;
+    private static final float EXPERIENCE_WEIGHT = 0.5f;
+
     private final JobRepository jobRepository;
-    private final ModelMapper modelMapper;
+    private final JobMapper jobMapper;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobSeekerRepository jobSeekerRepository;
+    private final ApplicationRepository applicationRepository;
+    private final JobViewTracker jobViewTracker;
+    private final ResourceVersionService resourceVersionService;
+    private final ThumbnailService thumbnailService;
 
     @Autowired
-    public JobServiceImpl(JobRepository jobRepository, ModelMapper modelMapper) {
+    public JobServiceImpl(JobRepository jobRepository, JobMapper jobMapper, JobSearchIndex jobSearchIndex,
+                          JobSeekerRepository jobSeekerRepository, ApplicationRepository applicationRepository,
+                          JobViewTracker jobViewTracker, ResourceVersionService resourceVersionService,
+                          ThumbnailService thumbnailService) {
         this.jobRepository = jobRepository;
-        this.modelMapper = modelMapper;
+        this.jobMapper = jobMapper;
+        this.jobSearchIndex = jobSearchIndex;
+        this.jobSeekerRepository = jobSeekerRepository;
+        this.applicationRepository = applicationRepository;
+        this.jobViewTracker = jobViewTracker;
+        this.resourceVersionService = resourceVersionService;
+        this.thumbnailService = thumbnailService;
     }
 
     @Override
     public List<JobDTO> getAllJobs() {
         return jobRepository.findAll().stream()
-                .map(job -> modelMapper.map(job, JobDTO.class))
+                .map(jobMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public CursorPageDTO<JobDTO> searchJobs(JobSearchCriteria criteria, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean byDeadline = SORT_DEADLINE.equalsIgnoreCase(criteria.getSort());
+
+        Specification<Job> spec = JobSpecifications.matching(criteria);
+        Sort sort;
+        if (byDeadline) {
+            // Keyset pagination needs a non-null sort key, so jobs without a deadline are left out of this ordering
+            spec = spec.and(JobSpecifications.hasDeadline());
+            sort = Sort.by(Sort.Order.asc("deadline"), Sort.Order.asc("id"));
+        } else {
+            sort = Sort.by(Sort.Order.desc("id"));
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            if (byDeadline) {
+                if (parts.length != 2) throw new IllegalArgumentException("Invalid cursor");
+                spec = spec.and(JobSpecifications.deadlineAfter(LocalDateTime.parse(parts[0]), Integer.valueOf(parts[1])));
+            } else {
+                if (parts.length != 1) throw new IllegalArgumentException("Invalid cursor");
+                spec = spec.and(JobSpecifications.idBefore(Integer.valueOf(parts[0])));
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists without running a COUNT
+        List<Job> rows = jobRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        boolean hasMore = rows.size() > pageSize;
+        List<Job> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Job last = page.get(page.size() - 1);
+            nextCursor = byDeadline
+                    ? encodeCursor(last.getDeadline() + "|" + last.getId())
+                    : encodeCursor(String.valueOf(last.getId()));
+        }
+
+        List<JobDTO> items = page.stream()
+                .map(jobMapper::toDto)
+                .toList();
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<JobSearchHitDTO> keywordSearch(String query, int limit) {
+        return jobSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_KEYWORD_RESULTS)));
+    }
+
+    @Override
+    public Optional<List<JobRecommendationDTO>> recommendJobs(Integer jobSeekerId, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS));
+        return jobSeekerRepository.findSkillsById(jobSeekerId)
+                .map(seeker -> {
+                    Map<String, Float> terms = new HashMap<>();
+                    for (String term : SkillMatcher.skillTerms(seeker.getExperience())) {
+                        terms.put(term, EXPERIENCE_WEIGHT);
+                    }
+                    for (String term : SkillMatcher.skillTerms(seeker.getSkills())) {
+                        terms.put(term, SKILL_WEIGHT);
+                    }
+                    return jobSearchIndex.recommend(terms, max);
+                });
+    }
+
+    @Override
+    public List<TrendingJobDTO> getTrendingJobs(int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_TRENDING));
+        List<TrendingJobDTO> trending = new ArrayList<>();
+        // Over-fetch a little in case some of the ranked jobs were deleted since the last flush
+        for (JobViewTracker.Trending entry : jobViewTracker.trending(max * 2)) {
+            jobSearchIndex.get(entry.jobId())
+                    .ifPresent(job -> trending.add(new TrendingJobDTO(job, entry.score())));
+            if (trending.size() == max) {
+                break;
+            }
+        }
+        return trending;
+    }
+
+    /**
+     * Ranks a job's applicants by the share of the job's skill terms they list and returns one page.
+     * Scoring reads only each application's id and the applicant's skills, for at most
+     * {@value #MAX_RANKED_APPLICANTS} applications (the earliest, by id); later applications are not
+     * ranked or listed. The columns the list shows are then read for the requested page alone.
+     */
+    @Override
+    public Optional<PageDTO<CandidateDTO>> getRankedCandidates(Integer jobId, int page, int size) {
+        Optional<JobDTO> job = jobSearchIndex.get(jobId).or(() -> getJobById(jobId));
+        if (job.isEmpty()) {
+            return Optional.empty();
+        }
+        // Score against the requirements alone; the title only stands in when there are none
+        List<String> required = SkillMatcher.skillTerms(job.get().getRequirements());
+        if (required.isEmpty()) {
+            required = SkillMatcher.skillTerms(job.get().getTitle());
+        }
+
+        // A job's applicants are ranked as a whole and then sliced, so the page is consistent across requests
+        List<RankedApplication> ranked = new ArrayList<>();
+        for (ApplicationRepository.CandidateSkillsView view : applicationRepository.findCandidateSkillsByJobId(
+                jobId, PageRequest.of(0, MAX_RANKED_APPLICANTS))) {
+            Set<String> offered = new HashSet<>(SkillMatcher.skillTerms(view.getSkills()));
+            List<String> matched = new ArrayList<>();
+            for (String term : required) {
+                if (offered.contains(term)) {
+                    matched.add(term);
+                }
+            }
+            double score = required.isEmpty() ? 0 : (double) matched.size() / required.size();
+            ranked.add(new RankedApplication(view.getApplicationId(), score, matched));
+        }
+        ranked.sort(BEST_APPLICATION_FIRST);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        int from = (int) Math.min((long) pageNumber * pageSize, ranked.size());
+        int to = Math.min(from + pageSize, ranked.size());
+        int totalPages = (ranked.size() + pageSize - 1) / pageSize;
+        List<RankedApplication> slice = ranked.subList(from, to);
+
+        Map<Integer, ApplicationRepository.CandidateView> views = new HashMap<>();
+        if (!slice.isEmpty()) {
+            for (ApplicationRepository.CandidateView view : applicationRepository.findCandidatesByIdIn(
+                    slice.stream().map(RankedApplication::applicationId).toList())) {
+                views.put(view.getApplicationId(), view);
+            }
+        }
+        List<CandidateDTO> items = new ArrayList<>();
+        for (RankedApplication entry : slice) {
+            ApplicationRepository.CandidateView view = views.get(entry.applicationId());
+            if (view == null) {
+                // Withdrawn between the two reads
+                continue;
+            }
+            items.add(new CandidateDTO(view.getApplicationId(), view.getStatus(), view.getJobSeekerId(),
+                    view.getUsername(), view.getFirstName(), view.getLastName(), view.getEmail(),
+                    thumbnailService.thumbnailUrl(view.getProfilePictureUrl(), ThumbnailService.AVATAR),
+                    view.getResumeUrl(), view.getSkills(), entry.score(), entry.matched()));
+        }
+        return Optional.of(new PageDTO<>(items, pageNumber, pageSize, ranked.size(), totalPages));
+    }
+
     @Override
     public Optional<JobDTO> getJobById(Integer id) {
         return jobRepository.findById(id)
-                .map(job -> modelMapper.map(job, JobDTO.class));
+                .map(jobMapper::toDto);
     }
 
     @Override
     public JobDTO createJob(JobDTO jobDTO) {
-        Job job = modelMapper.map(jobDTO, Job.class);
+        Job job = jobMapper.toEntity(jobDTO);
         Job savedJob = jobRepository.save(job);
-        return modelMapper.map(savedJob, JobDTO.class);
+        JobDTO saved = jobMapper.toDto(savedJob);
+        jobSearchIndex.index(saved);
+        resourceVersionService.bump(ResourceVersionService.JOBS);
+        return saved;
     }
 
     @Override
     public Optional<JobDTO> updateJob(Integer id, JobDTO jobDTO) {
         return jobRepository.findById(id)
                 .map(existingJob -> {
-                    modelMapper.map(jobDTO, existingJob);
+                    jobMapper.copyToEntity(jobDTO, existingJob);
                     Job updatedJob = jobRepository.save(existingJob);
-                    return modelMapper.map(updatedJob, JobDTO.class);
+                    JobDTO updated = jobMapper.toDto(updatedJob);
+                    jobSearchIndex.index(updated);
+                    resourceVersionService.bump(ResourceVersionService.JOBS);
+                    return updated;
                 });
     }
 
@@ -56,6 +261,9 @@ public class JobServiceImpl implements JobService {
     public boolean deleteJob(Integer id) {
         if (jobRepository.existsById(id)) {
             jobRepository.deleteById(id);
+            jobSearchIndex.remove(id);
+            jobViewTracker.forget(id);
+            resourceVersionService.bump(ResourceVersionService.JOBS);
             return true;
         }
         return false;
@@ -65,4 +273,19 @@ public class JobServiceImpl implements JobService {
     public boolean existsById(Integer id) {
         return jobRepository.existsById(id);
     }
+
+    private record RankedApplication(Integer applicationId, double score, List<String> matched) {
+    }
+
+    private static String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
 }
@@ -0,0 +1,168 @@
+package lk.acpt.demo.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts job views in memory and writes them to {@code job_stats} in batches.
+ * <p>
+ * A view only increments a {@link LongAdder}, which spreads concurrent increments over
+ * per-thread cells, so a popular job costs no lock and no database write per request.
+ * Every {@code app.jobs.views.flush-interval} the counts since the last flush are added to
+ * {@code job_stats} in one batch and folded into a popularity score that halves every
+ * {@code app.jobs.trending.half-life}; the resulting ranking is what {@link #trending} serves.
+ * Scores live in memory only and start from zero after a restart.
+ * <p>
+ * Views of jobs that no longer exist are dropped at the flush, so a view that races with
+ * {@link #forget} never writes the deleted job's row back.
+ */
+@Component
+public class JobViewTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(JobViewTracker.class);
+    private static final int MAX_TRENDING = 100;
+    // Scores that have decayed below this no longer affect the ranking and are dropped
+    private static final double MIN_SCORE = 0.01;
+    private static final int EXISTS_BATCH_SIZE = 1000;
+
+    private static final String FLUSH_SQL =
+            "insert into job_stats (job_id, view_count, last_viewed_at) values (?, ?, ?) " +
+            "on duplicate key update view_count = view_count + values(view_count), last_viewed_at = values(last_viewed_at)";
+
+    public record Trending(Integer jobId, double score) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double decayPerMilli;
+    private final Map<Integer, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    // Guarded by this, like everything else the flush touches
+    private final Map<Integer, Double> scores = new HashMap<>();
+    private final Map<Integer, Long> unwrittenViews = new HashMap<>();
+    private long lastDecay = System.currentTimeMillis();
+    private volatile List<Trending> ranking = List.of();
+
+    public JobViewTracker(JdbcTemplate jdbcTemplate,
+                          @Value("${app.jobs.trending.half-life:6h}") Duration halfLife) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+    }
+
+    public void recordView(Integer jobId) {
+        LongAdder views = pendingViews.get(jobId);
+        if (views == null) {
+            views = pendingViews.computeIfAbsent(jobId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /** The most viewed jobs by decayed score, highest first, as of the last flush. */
+    public List<Trending> trending(int limit) {
+        List<Trending> current = ranking;
+        return current.subList(0, Math.min(Math.max(0, limit), current.size()));
+    }
+
+    /** Drops a deleted job's counts and stats row; called once the job itself is deleted. */
+    public synchronized void forget(Integer jobId) {
+        pendingViews.remove(jobId);
+        scores.remove(jobId);
+        unwrittenViews.remove(jobId);
+        ranking = ranking.stream().filter(entry -> !entry.jobId().equals(jobId)).toList();
+        jdbcTemplate.update("delete from job_stats where job_id = ?", jobId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.views.flush-interval:10s}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<Integer, Long> views = new HashMap<>();
+        // Each cell is swapped to zero on its own, so a view counted while we drain lands in the next flush
+        pendingViews.forEach((jobId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                views.put(jobId, delta);
+            }
+        });
+        dropDeletedJobs(views);
+        updateRanking(views);
+
+        unwrittenViews.forEach((jobId, delta) -> views.merge(jobId, delta, Long::sum));
+        unwrittenViews.clear();
+        if (views.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(views.size());
+        views.forEach((jobId, delta) -> batch.add(new Object[]{jobId, delta, now}));
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            // Already in the ranking; keep them for the next write only
+            unwrittenViews.putAll(views);
+            log.warn("Could not write {} job view counts, will retry: {}", views.size(), e.getMessage());
+        }
+    }
+
+    // A view recorded after forget() leaves a new counter behind, and writing it would recreate the deleted
+    // job's row. The job is deleted before forget() runs, and this holds the same lock, so the check is enough.
+    private void dropDeletedJobs(Map<Integer, Long> views) {
+        if (views.isEmpty()) {
+            return;
+        }
+        Set<Integer> existing;
+        try {
+            existing = existingJobIds(new ArrayList<>(views.keySet()));
+        } catch (RuntimeException e) {
+            // The write will most likely fail as well and be retried; nothing is dropped on a guess
+            log.warn("Could not check {} viewed jobs: {}", views.size(), e.getMessage());
+            return;
+        }
+        for (Integer jobId : new ArrayList<>(views.keySet())) {
+            if (!existing.contains(jobId)) {
+                views.remove(jobId);
+                pendingViews.remove(jobId);
+            }
+        }
+    }
+
+    private Set<Integer> existingJobIds(List<Integer> jobIds) {
+        Set<Integer> existing = new HashSet<>();
+        for (int from = 0; from < jobIds.size(); from += EXISTS_BATCH_SIZE) {
+            List<Integer> chunk = jobIds.subList(from, Math.min(from + EXISTS_BATCH_SIZE, jobIds.size()));
+            String sql = "select id from job where id in (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            existing.addAll(jdbcTemplate.queryForList(sql, Integer.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    private void updateRanking(Map<Integer, Long> views) {
+        long nowMillis = System.currentTimeMillis();
+        double decay = Math.exp(-decayPerMilli * (nowMillis - lastDecay));
+        lastDecay = nowMillis;
+        scores.replaceAll((jobId, score) -> score * decay);
+        views.forEach((jobId, delta) -> scores.merge(jobId, delta.doubleValue(), Double::sum));
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        ranking = scores.entrySet().stream()
+                .map(entry -> new Trending(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(Trending::score).reversed().thenComparing(Trending::jobId))
+                .limit(MAX_TRENDING)
+                .toList();
+    }
+}
@@ -0,0 +1,22 @@
+package lk.acpt.demo.storage;
+
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where uploaded bytes live. Keys are relative, slash-separated paths such as {@code files/ab/<sha256>.png};
+ * which backend is used is chosen with {@code app.uploads.storage}.
+ */
+public interface FileStorage {
+    // Readers never see a partly written object: the content appears under the key whole or not at all.
+    // The content is opened once per attempt, so a backend may send it again after a failed request.
+    void put(String key, InputStreamSource content, long size, String contentType) throws IOException;
+    boolean exists(String key) throws IOException;
+    Resource resource(String key);
+    void delete(String key) throws IOException;
+    // Every key that starts with the prefix, in key order, like an S3 listing
+    List<String> list(String prefix) throws IOException;
+}
@@ -0,0 +1,106 @@
+package lk.acpt.demo.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps uploads under {@code app.uploads.dir}, one file per key.
+ * <p>
+ * Content is streamed into a hidden temporary file next to the target, which is flushed and then renamed over
+ * the key, so a concurrent re-upload of the same key replaces the file in one step and a crash never leaves half
+ * a file behind.
+ */
+@Component
+@ConditionalOnProperty(name = "app.uploads.storage", havingValue = "local", matchIfMissing = true)
+public class LocalFileStorage implements FileStorage {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path root;
+
+    public LocalFileStorage(@Value("${app.uploads.dir:${user.dir}/uploads}") String uploadsDir) {
+        this.root = Path.of(uploadsDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, InputStreamSource content, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), TEMP_SUFFIX);
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(content.getInputStream());
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long written = 0;
+                while (written < size) {
+                    long transferred = out.transferFrom(source, written, size - written);
+                    if (transferred == 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+                if (written != size || source.read(ByteBuffer.allocate(1)) != -1) {
+                    throw new IOException("Content of " + key + " is not " + size + " bytes long");
+                }
+                out.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public Resource resource(String key) {
+        return new FileSystemResource(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        // Only the directory the prefix ends in and below can hold matching keys
+        Path dir = prefix.contains("/") ? resolve(prefix.substring(0, prefix.lastIndexOf('/'))) : root;
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                    .filter(key -> key.startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key '" + key + "'");
+        }
+        return path;
+    }
+}
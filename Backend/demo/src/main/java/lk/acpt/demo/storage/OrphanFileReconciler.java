@@ -0,0 +1,328 @@
+package lk.acpt.demo.storage;
+
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ThumbnailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reclaims uploads that nothing points at any more, so the uploads tree grows with live data only.
+ * <p>
+ * A run goes through the 256 hash shards in order. For each shard it counts the references to the shard's files
+ * in the URL columns of the user table, read in id order a batch at a time, and then walks the shard's
+ * {@code stored_file} rows, the keys the storage lists for it and those counts side by side, all sorted by hash.
+ * Memory grows with one shard's files, not with every reference. The price is one pass over the user table per
+ * shard, which is acceptable for a nightly job.
+ * <ul>
+ *     <li>a reference count lower than the references found is raised at once, so a later release cannot
+ *     delete a file that is still in use;</li>
+ *     <li>a count higher than the references found is lowered, deleting the file at zero, but only when the
+ *     previous run saw the same count: an upload counts its file a moment before the profile is saved. The count
+ *     a run suspects is kept in {@code stored_file.suspected_count}, so a restart does not reset the wait;</li>
+ *     <li>files and thumbnails without a row, and legacy uploads no profile links to, are deleted once they are
+ *     older than the grace period.</li>
+ * </ul>
+ * Deletions are paced to {@code app.uploads.reconcile.deletes-per-second}. In dry-run mode nothing is changed
+ * and the report only says what would have been reclaimed.
+ */
+@Component
+public class OrphanFileReconciler {
+    private static final Logger log = LoggerFactory.getLogger(OrphanFileReconciler.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int SAMPLE_SIZE = 50;
+    // Matched anywhere in a URL, so stored files stay referenced if app.uploads.base-url changes
+    private static final Pattern STORED_URL = Pattern.compile("/files/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z0-9]+$");
+    private static final Pattern STORED_NAME = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]+");
+    private static final List<String> LEGACY_DIRS = List.of("company-logos", "cv", "profile");
+    private static final String[] URL_COLUMNS = {"profile_picture_url", "resume_url", "company_logo_url"};
+
+    public record Report(boolean dryRun, int keysScanned, int orphanFiles, int orphanThumbnails, int orphanLegacyFiles,
+                         int countsCorrected, int missingFiles, long bytesReclaimed, List<String> sample) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileStoreService fileStoreService;
+    private final FileStorage fileStorage;
+    private final boolean dryRun;
+    private final Duration gracePeriod;
+    private final long deleteIntervalNanos;
+
+    private long lastDelete;
+
+    public OrphanFileReconciler(JdbcTemplate jdbcTemplate, FileStoreService fileStoreService, FileStorage fileStorage,
+                                @Value("${app.uploads.reconcile.dry-run:true}") boolean dryRun,
+                                @Value("${app.uploads.reconcile.grace-period:1h}") Duration gracePeriod,
+                                @Value("${app.uploads.reconcile.deletes-per-second:20}") int deletesPerSecond) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fileStoreService = fileStoreService;
+        this.fileStorage = fileStorage;
+        this.dryRun = dryRun;
+        this.gracePeriod = gracePeriod;
+        this.deleteIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, deletesPerSecond);
+    }
+
+    @Scheduled(cron = "${app.uploads.reconcile.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        Report report = reconcile(dryRun);
+        log.info("{} {} orphaned files, {} thumbnails and {} legacy uploads ({} bytes) and {} {} reference counts "
+                        + "after scanning {} keys; {} stored files are missing. Sample: {}",
+                report.dryRun() ? "Would reclaim" : "Reclaimed", report.orphanFiles(), report.orphanThumbnails(),
+                report.orphanLegacyFiles(), report.bytesReclaimed(), report.dryRun() ? "would correct" : "corrected",
+                report.countsCorrected(), report.keysScanned(), report.missingFiles(), report.sample());
+    }
+
+    public synchronized Report reconcile(boolean dryRun) {
+        Run run = new Run(dryRun, Instant.now().minus(gracePeriod));
+        for (int shard = 0; shard < 256; shard++) {
+            String prefix = HexFormat.of().toHexDigits((byte) shard);
+            try {
+                reconcileShard(prefix, run);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to reconcile upload shard {}", prefix, e);
+            }
+        }
+        for (String dir : LEGACY_DIRS) {
+            try {
+                // Legacy URLs were also saved as Windows paths, so either separator counts
+                References references = readReferences("/" + dir + "/", "\\" + dir + "\\");
+                for (String key : fileStorage.list(dir + "/")) {
+                    run.keysScanned++;
+                    if (!references.legacy().contains(key) && reclaim(key, null, run)) {
+                        run.orphanLegacyFiles++;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to reconcile legacy uploads in {}", dir, e);
+            }
+        }
+        return run.report();
+    }
+
+    private void reconcileShard(String shard, Run run) throws IOException {
+        Map<String, Integer> references = readReferences("/files/" + shard + "/").stored();
+        List<StoredRow> rows = jdbcTemplate.query(
+                "select hash, reference_count, suspected_count, size from stored_file where hash like ? order by hash",
+                (rs, rowNum) -> new StoredRow(rs.getString(1), rs.getInt(2), (Integer) rs.getObject(3), rs.getLong(4)),
+                shard + "%");
+        Set<String> known = new HashSet<>();
+        rows.forEach(row -> known.add(row.hash()));
+
+        // Listing and rows are both in hash order, so one pass over each pairs them up
+        List<String> keys = fileStorage.list("files/" + shard + "/");
+        int next = 0;
+        for (StoredRow row : rows) {
+            boolean present = false;
+            for (; next < keys.size(); next++) {
+                String key = keys.get(next);
+                String hash = hashOf(key);
+                if (hash != null && hash.compareTo(row.hash()) > 0) {
+                    break;
+                }
+                run.keysScanned++;
+                if (row.hash().equals(hash)) {
+                    present = true;
+                } else if ((hash == null || !known.contains(hash)) && reclaim(key, hash, run)) {
+                    // Written by an upload whose transaction then rolled back
+                    run.orphanFiles++;
+                }
+            }
+            reconcileCount(shard, row, present, references.getOrDefault(row.hash(), 0), run);
+        }
+        for (; next < keys.size(); next++) {
+            String key = keys.get(next);
+            run.keysScanned++;
+            String hash = hashOf(key);
+            if ((hash == null || !known.contains(hash)) && reclaim(key, hash, run)) {
+                run.orphanFiles++;
+            }
+        }
+
+        for (int size : ThumbnailService.SIZES) {
+            for (String key : fileStorage.list("thumbnails/" + size + "/" + shard + "/")) {
+                run.keysScanned++;
+                String hash = hashOf(key);
+                if ((hash == null || !known.contains(hash)) && reclaim(key, hash, run)) {
+                    run.orphanThumbnails++;
+                }
+            }
+        }
+    }
+
+    private void reconcileCount(String shard, StoredRow row, boolean present, int found, Run run) {
+        String hash = row.hash();
+        int count = row.referenceCount();
+        if (!present) {
+            run.missingFiles++;
+            log.warn("Stored file {} is referenced {} times but missing from storage", hash, found);
+        }
+        if (found < count && !Objects.equals(row.suspectedCount(), count)) {
+            // Bookkeeping for the next run, written in dry-run mode too
+            jdbcTemplate.update("update stored_file set suspected_count = ? where hash = ?", count, hash);
+            return;
+        }
+        if (found != count) {
+            if (!run.dryRun) {
+                if (found == 0) {
+                    pace();
+                }
+                if (!fileStoreService.correctReferenceCount(hash, count, found)) {
+                    return;
+                }
+            }
+            run.countsCorrected++;
+            run.sample("files/" + shard + "/" + hash + ": " + count + " -> " + found);
+            if (found == 0) {
+                run.bytesReclaimed += row.size();
+            }
+        }
+        if (row.suspectedCount() != null && (found != 0 || run.dryRun)) {
+            jdbcTemplate.update("update stored_file set suspected_count = null where hash = ?", hash);
+        }
+    }
+
+    // Deletes a key nothing refers to unless it is too recent to tell, or its content was stored again meanwhile
+    private boolean reclaim(String key, String hash, Run run) throws IOException {
+        Resource resource = fileStorage.resource(key);
+        if (Instant.ofEpochMilli(resource.lastModified()).isAfter(run.cutoff)) {
+            return false;
+        }
+        long size = resource.contentLength();
+        if (!run.dryRun) {
+            pace();
+            Integer rows = hash == null ? 0
+                    : jdbcTemplate.queryForObject("select count(*) from stored_file where hash = ?", Integer.class, hash);
+            if (rows != null && rows > 0) {
+                return false;
+            }
+            fileStorage.delete(key);
+        }
+        run.bytesReclaimed += size;
+        run.sample(key);
+        return true;
+    }
+
+    // References in user URLs that contain any of the needles, read in id order a batch at a time
+    private References readReferences(String... needles) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (String column : URL_COLUMNS) {
+            for (String needle : needles) {
+                conditions.add("locate(?, " + column + ") > 0");
+                args.add(needle);
+            }
+        }
+        String sql = "select id, " + String.join(", ", URL_COLUMNS) + " from user where id > ? and ("
+                + String.join(" or ", conditions) + ") order by id limit ?";
+        References references = new References(new HashMap<>(), new HashSet<>());
+        long lastId = 0;
+        while (true) {
+            List<Object> batchArgs = new ArrayList<>();
+            batchArgs.add(lastId);
+            batchArgs.addAll(args);
+            batchArgs.add(BATCH_SIZE);
+            List<Long> ids = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                for (int column = 2; column <= URL_COLUMNS.length + 1; column++) {
+                    references.add(rs.getString(column));
+                }
+                return rs.getLong(1);
+            }, batchArgs.toArray());
+            if (ids.size() < BATCH_SIZE) {
+                return references;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void pace() {
+        long wait = lastDelete + deleteIntervalNanos - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reclaiming uploads", e);
+            }
+        }
+        lastDelete = System.nanoTime();
+    }
+
+    private static String hashOf(String key) {
+        Matcher matcher = STORED_NAME.matcher(key.substring(key.lastIndexOf('/') + 1));
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private record StoredRow(String hash, int referenceCount, Integer suspectedCount, long size) {
+    }
+
+    // References to stored files by hash, and the keys of legacy uploads still linked from a profile
+    private record References(Map<String, Integer> stored, Set<String> legacy) {
+        void add(String url) {
+            if (url == null || url.isEmpty()) {
+                return;
+            }
+            Matcher matcher = STORED_URL.matcher(url);
+            if (matcher.find()) {
+                stored.merge(matcher.group(1), 1, Integer::sum);
+                return;
+            }
+            // Legacy URLs were also saved as Windows paths, so either separator counts
+            String path = url.replace('\\', '/');
+            int slash = path.lastIndexOf('/');
+            if (slash > 0) {
+                String dir = path.substring(path.lastIndexOf('/', slash - 1) + 1, slash);
+                if (LEGACY_DIRS.contains(dir)) {
+                    legacy.add(dir + "/" + path.substring(slash + 1));
+                }
+            }
+        }
+    }
+
+    private static final class Run {
+        private final boolean dryRun;
+        private final Instant cutoff;
+        private final List<String> sample = new ArrayList<>();
+        private int keysScanned;
+        private int orphanFiles;
+        private int orphanThumbnails;
+        private int orphanLegacyFiles;
+        private int countsCorrected;
+        private int missingFiles;
+        private long bytesReclaimed;
+
+        Run(boolean dryRun, Instant cutoff) {
+            this.dryRun = dryRun;
+            this.cutoff = cutoff;
+        }
+
+        void sample(String entry) {
+            if (sample.size() < SAMPLE_SIZE) {
+                sample.add(entry);
+            }
+        }
+
+        Report report() {
+            return new Report(dryRun, keysScanned, orphanFiles, orphanThumbnails, orphanLegacyFiles, countsCorrected,
+                    missingFiles, bytesReclaimed, List.copyOf(sample));
+        }
+    }
+}
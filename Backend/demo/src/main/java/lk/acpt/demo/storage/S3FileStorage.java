@@ -0,0 +1,381 @@
+package lk.acpt.demo.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps uploads in a bucket of any S3-compatible object store (AWS S3, MinIO, Ceph, ...), addressed path-style
+ * as {@code <endpoint>/<bucket>/<key>} and signed with AWS Signature Version 4.
+ * <p>
+ * A PUT only becomes visible once the whole object has arrived, so writes are atomic without a temporary key.
+ * Bodies are streamed and sent unsigned ({@code UNSIGNED-PAYLOAD}); use an https endpoint outside tests.
+ * <p>
+ * Every request is sent a second time if the first fails with an I/O error. The JDK client only retries GET and
+ * HEAD itself, when a pooled keep-alive connection turns out to be closed, and PUT and DELETE of a key are
+ * idempotent, so resending them is safe.
+ */
+@Component
+@ConditionalOnProperty(name = "app.uploads.storage", havingValue = "s3")
+public class S3FileStorage implements FileStorage {
+    private static final Logger log = LoggerFactory.getLogger(S3FileStorage.class);
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final String EMPTY_PAYLOAD = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+
+    public S3FileStorage(@Value("${app.uploads.s3.endpoint}") String endpoint,
+                         @Value("${app.uploads.s3.bucket}") String bucket,
+                         @Value("${app.uploads.s3.region:us-east-1}") String region,
+                         @Value("${app.uploads.s3.access-key}") String accessKey,
+                         @Value("${app.uploads.s3.secret-key}") String secretKey) {
+        this.endpoint = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+    }
+
+    @Override
+    public void put(String key, InputStreamSource content, long size, String contentType) throws IOException {
+        // Each attempt subscribes again and reads the content from the start
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return content.getInputStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }), size);
+        HttpResponse<String> response = send("PUT", objectPath(key), Map.of(), Map.of("content-type", contentType),
+                UNSIGNED_PAYLOAD, body, HttpResponse.BodyHandlers.ofString());
+        check(response, "store", key);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return head(key) != null;
+    }
+
+    @Override
+    public Resource resource(String key) {
+        return new ObjectResource(key);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send("DELETE", objectPath(key), Map.of(), Map.of(), EMPTY_PAYLOAD,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 404) {
+            check(response, "delete", key);
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        List<String> keys = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            Map<String, String> query = new TreeMap<>(Map.of("list-type", "2", "prefix", prefix));
+            if (continuationToken != null) {
+                query.put("continuation-token", continuationToken);
+            }
+            HttpResponse<InputStream> response = send("GET", "/" + encode(bucket), query, Map.of(), EMPTY_PAYLOAD,
+                    HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("Failed to list '" + prefix + "': HTTP " + response.statusCode());
+                }
+                Element result = parse(body).getDocumentElement();
+                NodeList contents = result.getElementsByTagName("Contents");
+                for (int i = 0; i < contents.getLength(); i++) {
+                    keys.add(text((Element) contents.item(i), "Key"));
+                }
+                continuationToken = "true".equals(text(result, "IsTruncated")) ? text(result, "NextContinuationToken") : null;
+            }
+        } while (continuationToken != null);
+        return keys;
+    }
+
+    // Response headers of the object, or null when there is none
+    private HttpHeaders head(String key) throws IOException {
+        HttpResponse<Void> response = send("HEAD", objectPath(key), Map.of(), Map.of(), EMPTY_PAYLOAD,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Failed to look up '" + key + "': HTTP " + response.statusCode());
+        }
+        return response.headers();
+    }
+
+    private <T> HttpResponse<T> send(String method, String path, Map<String, String> query, Map<String, String> headers,
+                                     String payloadHash, HttpRequest.BodyPublisher body,
+                                     HttpResponse.BodyHandler<T> handler) throws IOException {
+        String canonicalQuery = canonicalQuery(query);
+        URI uri = URI.create(endpoint + path + (canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery));
+        for (int attempt = 1; ; attempt++) {
+            HttpRequest request = signedRequest(method, uri, path, canonicalQuery, headers, payloadHash, body);
+            try {
+                return httpClient.send(request, handler);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while talking to object storage");
+            } catch (HttpTimeoutException e) {
+                // Waiting the full timeout twice would only hold the caller up longer
+                throw e;
+            } catch (IOException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Retrying {} {} after: {}", method, path, e.toString());
+            }
+        }
+    }
+
+    // Signed afresh for every attempt, since the signature covers the time of the request
+    private HttpRequest signedRequest(String method, URI uri, String path, String canonicalQuery,
+                                      Map<String, String> headers, String payloadHash, HttpRequest.BodyPublisher body) {
+        String amzDate = ZonedDateTime.now(ZoneOffset.UTC).format(AMZ_DATE);
+
+        TreeMap<String, String> signed = new TreeMap<>(headers);
+        signed.put("host", uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+        signed.put("x-amz-content-sha256", payloadHash);
+        signed.put("x-amz-date", amzDate);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).method(method, body);
+        signed.forEach((name, value) -> {
+            // The client sets Host itself, from the same URI
+            if (!name.equals("host")) {
+                request.header(name, value);
+            }
+        });
+        request.header("Authorization", authorization(accessKey, secretKey, region, method, path, canonicalQuery,
+                signed, payloadHash, amzDate));
+        return request.build();
+    }
+
+    /**
+     * The Authorization header of a request, following the Signature Version 4 recipe: hash the canonical
+     * request, sign it with a key derived from the secret for the day, region and service.
+     *
+     * @param headers lower-case names and trimmed values of every header to sign, host included
+     */
+    static String authorization(String accessKey, String secretKey, String region, String method, String canonicalUri,
+                                String canonicalQuery, TreeMap<String, String> headers, String payloadHash,
+                                String amzDate) {
+        StringBuilder canonicalHeaders = new StringBuilder();
+        headers.forEach((name, value) -> canonicalHeaders.append(name).append(':').append(value).append('\n'));
+        String signedHeaders = String.join(";", headers.keySet());
+        String canonicalRequest = method + "\n" + canonicalUri + "\n" + canonicalQuery + "\n" + canonicalHeaders
+                + "\n" + signedHeaders + "\n" + payloadHash;
+
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + hex(sha256(canonicalRequest));
+
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope + ", SignedHeaders=" + signedHeaders
+                + ", Signature=" + hex(hmac(key, stringToSign));
+    }
+
+    private String objectPath(String key) {
+        StringBuilder path = new StringBuilder("/").append(encode(bucket));
+        for (String segment : key.split("/", -1)) {
+            path.append('/').append(encode(segment));
+        }
+        return path.toString();
+    }
+
+    private static String canonicalQuery(Map<String, String> query) {
+        StringBuilder canonical = new StringBuilder();
+        new TreeMap<>(query).forEach((name, value) -> {
+            if (!canonical.isEmpty()) {
+                canonical.append('&');
+            }
+            canonical.append(encode(name)).append('=').append(encode(value));
+        });
+        return canonical.toString();
+    }
+
+    // RFC 3986 percent-encoding of everything but the unreserved characters, as Signature Version 4 expects
+    private static String encode(String value) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(HexFormat.of().withUpperCase().toHexDigits(b));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static void check(HttpResponse<String> response, String action, String key) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Failed to " + action + " '" + key + "': HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static Document parse(InputStream xml) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return factory.newDocumentBuilder().parse(xml);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Unreadable listing from object storage", e);
+        }
+    }
+
+    private static String text(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent();
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    // Looks the object up once, on first use, so serving it costs one HEAD and one GET
+    private class ObjectResource extends AbstractResource {
+        private final String key;
+        private HttpHeaders headers;
+        private boolean looked;
+
+        ObjectResource(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean exists() {
+            try {
+                return headers() != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return requiredHeaders().firstValueAsLong("Content-Length").orElseThrow(
+                    () -> new IOException("No length for '" + key + "'"));
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return requiredHeaders().firstValue("Last-Modified")
+                    .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                    .orElse(0L);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            HttpResponse<InputStream> response = send("GET", objectPath(key), Map.of(), Map.of(), EMPTY_PAYLOAD,
+                    HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() == 200) {
+                return response.body();
+            }
+            response.body().close();
+            if (response.statusCode() == 404) {
+                throw new FileNotFoundException(getDescription() + " does not exist");
+            }
+            throw new IOException("Failed to read '" + key + "': HTTP " + response.statusCode());
+        }
+
+        @Override
+        public String getFilename() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Object [" + bucket + "/" + key + "]";
+        }
+
+        private HttpHeaders headers() throws IOException {
+            if (!looked) {
+                headers = head(key);
+                looked = true;
+            }
+            return headers;
+        }
+
+        private HttpHeaders requiredHeaders() throws IOException {
+            HttpHeaders found = headers();
+            if (found == null) {
+                throw new FileNotFoundException(getDescription() + " does not exist");
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package lk.acpt.demo.util;
+
+/**
+ * The caller resolved from a verified JWT. The authentication filter stores
+ * it on the request under {@link #REQUEST_ATTRIBUTE}.
+ */
+public record AuthenticatedUser(Integer userId, String role, long expiresAtMillis) {
+
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+}
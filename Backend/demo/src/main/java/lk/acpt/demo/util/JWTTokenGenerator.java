@@ -1,14 +1,31 @@
 package lk.acpt.demo.util;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lk.acpt.demo.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Project: Assignment 1 (COMP2003-Object Oriented Software Engineering)
@@ -16,33 +33,154 @@ import java.util.Date;
  * Date Modified: 5/14/2025
  **/
 @Component
-public class JWTTokenGenerator {
+public class JWTTokenGenerator implements MeterBinder {
 
-    SecretKey key = Jwts.SIG.HS256.key().build();
+    private static final Logger log = LoggerFactory.getLogger(JWTTokenGenerator.class);
+    private static final long EXPIRATION_TIME = 1000 * 60 * 60;
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final String ROLE_CLAIM = "role";
 
-    public String generateToken(User user) {
-        long EXPIRATION_TIME = 1000 * 60 * 60;
+    private final JwtKeyRing keyRing;
+
+    // Parsers are immutable and thread-safe, so one instance serves every request; it asks the key ring per kid
+    private final JwtParser parser;
+
+    // Tokens that already passed signature verification, keyed by their SHA-256 digest
+    private final Map<String, AuthenticatedUser> verifiedTokens = new ConcurrentHashMap<>();
+    private volatile long cachedKeyRingVersion;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    public JWTTokenGenerator(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.cachedKeyRingVersion = keyRing.version();
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
+    public String generateToken(User user) {
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
                 .id(String.valueOf(user.getId()))
                 .subject(user.getEmail())
+                .claim(ROLE_CLAIM, user.getRole())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(key)
+                .signWith(signingKey.key())
                 .compact();
     }
 
     public boolean verifyToken(String token) {
+        return authenticate(token).isPresent();
+    }
+
+    /** Resolves the caller of a signed, unexpired token; empty when the token is missing or invalid. */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        long keyRingVersion = keyRing.version();
+        if (keyRingVersion != cachedKeyRingVersion) {
+            // A key may have been retired; make its tokens go through signature verification again
+            cachedKeyRingVersion = keyRingVersion;
+            verifiedTokens.clear();
+        }
+        String digest = digest(token);
+        AuthenticatedUser cached = verifiedTokens.get(digest);
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                cacheHits.increment();
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(digest);
+        }
+        cacheMisses.increment();
+
         try {
-            Jws<Claims> claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            AuthenticatedUser user = new AuthenticatedUser(parseUserId(claims.getId()),
+                    claims.get(ROLE_CLAIM, String.class),
+                    expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+            if (expiration != null) {
+                cache(digest, user, now);
+            }
+            return Optional.of(user);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Share of verifications answered from the cache since startup. */
+    public double getCacheHitRatio() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.verify.cache.hits", cacheHits, LongAdder::sum)
+                .description("Token verifications answered from the verified-token cache")
+                .register(registry);
+        FunctionCounter.builder("jwt.verify.cache.misses", cacheMisses, LongAdder::sum)
+                .description("Token verifications that needed a full signature check")
+                .register(registry);
+        Gauge.builder("jwt.verify.cache.size", verifiedTokens, Map::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+        Gauge.builder("jwt.verify.cache.hit.ratio", this, JWTTokenGenerator::getCacheHitRatio)
+                .description("Share of token verifications answered from the cache")
+                .register(registry);
+    }
 
-            return true;
-        } catch (JwtException e) {
-            System.out.println("Invalid JWT: " + e.getMessage());
-            return false;
+    private void cache(String digest, AuthenticatedUser user, long now) {
+        if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+            evict(now);
+        }
+        if (verifiedTokens.size() < MAX_CACHED_TOKENS) {
+            verifiedTokens.put(digest, user);
         }
     }
+
+    private void evict(long now) {
+        verifiedTokens.values().removeIf(user -> user.expiresAtMillis() <= now);
+        // Still full of live tokens: drop an arbitrary tenth; they are re-verified on next use
+        int toDrop = verifiedTokens.size() - MAX_CACHED_TOKENS + MAX_CACHED_TOKENS / 10;
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (toDrop-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static Integer parseUserId(String id) {
+        try {
+            return id == null || "null".equals(id) ? null : Integer.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
 }
@@ -0,0 +1,193 @@
+package lk.acpt.demo.util;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * HMAC keys used to sign and verify JWTs, identified by the token's {@code kid} header.
+ * <p>
+ * One key is active and signs new tokens; the others only verify tokens issued before the
+ * last rotation. Keys come from {@code app.jwt.keys.<kid>} with {@code app.jwt.active-key-id},
+ * or, when no keys are configured, from a properties file ({@code app.jwt.key-file}) that is
+ * re-read whenever it changes. Every node given the same keys accepts every other node's tokens.
+ * <p>
+ * To rotate: add the new key everywhere, switch the active id, and drop the old key once the
+ * tokens it signed have expired.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final String ACTIVE_ENTRY = "active";
+    private static final int GENERATED_KEY_BYTES = 32;
+
+    public record SigningKey(String keyId, SecretKey key) {
+    }
+
+    private record Snapshot(SigningKey active, Map<String, SecretKey> keys) {
+    }
+
+    private final Path keyFile;
+    private final long reloadIntervalMillis;
+
+    private volatile Snapshot snapshot;
+    private volatile long version;
+    private volatile long nextReloadCheck;
+    private FileTime loadedModified;
+
+    public JwtKeyRing(Environment environment,
+                      @Value("${app.jwt.active-key-id:}") String activeKeyId,
+                      @Value("${app.jwt.key-file:${user.dir}/jwt-keys.properties}") String keyFile,
+                      @Value("${app.jwt.key-file-reload-interval:30s}") Duration reloadInterval) {
+        Map<String, String> configuredKeys = Binder.get(environment)
+                .bind("app.jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        this.reloadIntervalMillis = reloadInterval.toMillis();
+        if (!configuredKeys.isEmpty()) {
+            this.keyFile = null;
+            this.snapshot = snapshot(activeKeyId, configuredKeys);
+            log.info("Loaded {} JWT signing key(s) from configuration, active key '{}'",
+                    configuredKeys.size(), activeKeyId);
+        } else {
+            this.keyFile = Paths.get(keyFile);
+            if (Files.notExists(this.keyFile)) {
+                generateKeyFile();
+            }
+            reloadKeyFile(true);
+        }
+    }
+
+    /** The key new tokens are signed with, and the id written into their header. */
+    public SigningKey signingKey() {
+        refreshIfDue();
+        return snapshot.active();
+    }
+
+    /** The key for a token's {@code kid}, or null when the id is unknown or has been retired. */
+    public SecretKey verificationKey(String keyId) {
+        refreshIfDue();
+        return keyId == null ? null : snapshot.keys().get(keyId);
+    }
+
+    /** Incremented whenever the set of keys changes, so callers can drop anything derived from the old set. */
+    public long version() {
+        refreshIfDue();
+        return version;
+    }
+
+    private void refreshIfDue() {
+        if (keyFile == null || System.currentTimeMillis() < nextReloadCheck) {
+            return;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() >= nextReloadCheck) {
+                reloadKeyFile(false);
+            }
+        }
+    }
+
+    private synchronized void reloadKeyFile(boolean failFast) {
+        nextReloadCheck = System.currentTimeMillis() + reloadIntervalMillis;
+        try {
+            FileTime modified = Files.getLastModifiedTime(keyFile);
+            if (modified.equals(loadedModified)) {
+                return;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            Map<String, String> keys = new LinkedHashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (!ACTIVE_ENTRY.equals(name)) {
+                    keys.put(name, properties.getProperty(name).trim());
+                }
+            }
+            snapshot = snapshot(properties.getProperty(ACTIVE_ENTRY, "").trim(), keys);
+            loadedModified = modified;
+            version++;
+            log.info("Loaded {} JWT signing key(s) from {}, active key '{}'",
+                    keys.size(), keyFile, snapshot.active().keyId());
+        } catch (IOException | RuntimeException e) {
+            if (failFast) {
+                throw new IllegalStateException("Could not load JWT keys from " + keyFile, e);
+            }
+            // Keep signing with the keys we have rather than locking everybody out over a bad edit
+            log.warn("Ignoring unreadable JWT key file {}: {}", keyFile, e.getMessage());
+        }
+    }
+
+    private void generateKeyFile() {
+        byte[] secret = new byte[GENERATED_KEY_BYTES];
+        new SecureRandom().nextBytes(secret);
+        String keyId = Long.toString(System.currentTimeMillis(), 36);
+        Properties properties = new Properties();
+        properties.setProperty(ACTIVE_ENTRY, keyId);
+        properties.setProperty(keyId, Encoders.BASE64.encode(secret));
+        try {
+            Path parent = keyFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "jwt-keys", ".tmp");
+            try {
+                restrictToOwner(temp);
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    properties.store(writer, "JWT signing keys: 'active' names the key that signs new tokens");
+                }
+                // Never replaces an existing file, so a node that starts at the same moment keeps the first key
+                Files.move(temp, keyFile);
+                log.warn("No JWT keys configured; generated {}. Share it (or app.jwt.keys) across nodes.", keyFile);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (FileAlreadyExistsException e) {
+            log.info("JWT key file {} was created by another node", keyFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create JWT key file " + keyFile, e);
+        }
+    }
+
+    private static Snapshot snapshot(String activeKeyId, Map<String, String> encodedKeys) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        encodedKeys.forEach((keyId, encoded) -> keys.put(keyId, Keys.hmacShaKeyFor(Decoders.BASE64.decode(encoded))));
+        SecretKey active = keys.get(activeKeyId);
+        if (active == null) {
+            throw new IllegalStateException("Active JWT key '" + activeKeyId + "' is not among the configured keys " + keys.keySet());
+        }
+        return new Snapshot(new SigningKey(activeKeyId, active), Collections.unmodifiableMap(keys));
+    }
+
+    private static void restrictToOwner(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; rely on the directory's permissions
+        }
+    }
+}
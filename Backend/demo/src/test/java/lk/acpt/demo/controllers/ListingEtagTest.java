@@ -0,0 +1,145 @@
+package lk.acpt.demo.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import lk.acpt.demo.dto.CourseDTO;
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.repositories.CourseRepository;
+import lk.acpt.demo.repositories.JobRepository;
+import lk.acpt.demo.services.JobImportService;
+import lk.acpt.demo.services.JobService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ListingEtagTest {
+
+    @Autowired
+    private JobController jobController;
+
+    @Autowired
+    private CourseController courseController;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobImportService jobImportService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedJobListingIsNotModifiedWithoutLoadingJobs() {
+        jobService.createJob(job("Backend Engineer"));
+        String etag = jobController.getAll(request(null)).getHeaders().getETag();
+        assertNotNull(etag);
+
+        statistics.clear();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertNull(jobController.getAll(new ServletWebRequest(mockRequest(etag), response)));
+        assertEquals(304, response.getStatus());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void jobWritesChangeTheEtag() {
+        String initial = jobController.getAll(request(null)).getHeaders().getETag();
+
+        JobDTO created = jobService.createJob(job("Backend Engineer"));
+        String afterCreate = assertModified(initial);
+
+        created.setTitle("Senior Backend Engineer");
+        jobService.updateJob(created.getId(), created);
+        String afterUpdate = assertModified(afterCreate);
+
+        jobImportService.importJobs(List.of(job("Data Engineer")));
+        String afterImport = assertModified(afterUpdate);
+
+        jobService.deleteJob(created.getId());
+        assertModified(afterImport);
+    }
+
+    @Test
+    void courseWritesChangeTheEtag() {
+        CourseDTO course = new CourseDTO();
+        course.setTitle("Spring Boot");
+        String initial = courseController.getAll(request(null)).getHeaders().getETag();
+
+        Integer id = courseController.create(course).getBody().getId();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<List<CourseDTO>> fresh = courseController.getAll(new ServletWebRequest(mockRequest(initial), response));
+        assertEquals(200, fresh.getStatusCode().value());
+        String afterCreate = fresh.getHeaders().getETag();
+        assertNotEquals(initial, afterCreate);
+
+        course.setTitle("Spring Boot 3");
+        courseController.update(id, course);
+        String afterUpdate = courseController.getAll(request(afterCreate)).getHeaders().getETag();
+        assertNotEquals(afterCreate, afterUpdate);
+
+        courseController.delete(id);
+        assertNotEquals(afterUpdate, courseController.getAll(request(afterUpdate)).getHeaders().getETag());
+    }
+
+    private String assertModified(String previous) {
+        ResponseEntity<List<JobDTO>> response = jobController.getAll(request(previous));
+        assertEquals(200, response.getStatusCode().value());
+        assertNotEquals(previous, response.getHeaders().getETag());
+        return response.getHeaders().getETag();
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        return new ServletWebRequest(mockRequest(ifNoneMatch), new MockHttpServletResponse());
+    }
+
+    private static MockHttpServletRequest mockRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static JobDTO job(String title) {
+        JobDTO job = new JobDTO();
+        job.setTitle(title);
+        job.setEmployerId(1);
+        return job;
+    }
+}
@@ -0,0 +1,179 @@
+package lk.acpt.demo.mapper;
+
+import lk.acpt.demo.config.ModelMapperConfig;
+import lk.acpt.demo.dto.ApplicationDTO;
+import lk.acpt.demo.dto.EmployerDTO;
+import lk.acpt.demo.dto.EnrollmentDTO;
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.dto.JobOfferDTO;
+import lk.acpt.demo.dto.JobSeekerDTO;
+import lk.acpt.demo.dto.TrainerDTO;
+import lk.acpt.demo.dto.UserDetailsDTO;
+import lk.acpt.demo.entity.Application;
+import lk.acpt.demo.entity.Course;
+import lk.acpt.demo.entity.Employer;
+import lk.acpt.demo.entity.Enrollment;
+import lk.acpt.demo.entity.Job;
+import lk.acpt.demo.entity.JobOffer;
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.entity.User;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks every hand-written mapper against what the configured ModelMapper produced,
+ * for fully populated entities and for entities with every field left null.
+ */
+class MapperEquivalenceTest {
+
+    private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+    private final JobMapper jobMapper = new JobMapper();
+    private final ApplicationMapper applicationMapper = new ApplicationMapper();
+    private final EnrollmentMapper enrollmentMapper = new EnrollmentMapper();
+    private final JobOfferMapper jobOfferMapper = new JobOfferMapper();
+    private final EmployerMapper employerMapper = new EmployerMapper();
+    private final JobSeekerMapper jobSeekerMapper = new JobSeekerMapper();
+    private final TrainerMapper trainerMapper = new TrainerMapper();
+    private final UserDetailsMapper userDetailsMapper = new UserDetailsMapper();
+
+    @Test
+    void jobMatchesModelMapper() {
+        for (Job job : List.of(job(), new Job())) {
+            assertEquals(modelMapper.map(job, JobDTO.class), jobMapper.toDto(job));
+        }
+    }
+
+    @Test
+    void applicationMatchesModelMapper() {
+        for (Application application : List.of(new Application(2, jobSeeker(), job(), "pending"), new Application())) {
+            assertEquals(modelMapper.map(application, ApplicationDTO.class), applicationMapper.toDto(application));
+        }
+    }
+
+    @Test
+    void enrollmentMatchesModelMapper() {
+        Course course = new Course();
+        course.setId(4);
+        for (Enrollment enrollment : List.of(new Enrollment(3, jobSeeker(), course), new Enrollment())) {
+            assertEquals(modelMapper.map(enrollment, EnrollmentDTO.class), enrollmentMapper.toDto(enrollment));
+        }
+    }
+
+    @Test
+    void jobOfferMatchesControllerOutput() {
+        for (JobOffer offer : List.of(new JobOffer(5, "Offer", "Terms", employer(), job()), new JobOffer())) {
+            // JobOfferController filled in the ids after ModelMapper, which leaves them empty
+            JobOfferDTO expected = modelMapper.map(offer, JobOfferDTO.class);
+            if (offer.getJob() != null) expected.setJobId(offer.getJob().getId());
+            if (offer.getEmployer() != null) expected.setEmployerId(offer.getEmployer().getId());
+            assertEquals(expected, jobOfferMapper.toDto(offer));
+        }
+    }
+
+    @Test
+    void profilesMatchModelMapper() {
+        for (Employer employer : List.of(employer(), new Employer())) {
+            assertEquals(modelMapper.map(employer, EmployerDTO.class), employerMapper.toDto(employer));
+        }
+        for (JobSeeker seeker : List.of(jobSeeker(), new JobSeeker())) {
+            assertEquals(modelMapper.map(seeker, JobSeekerDTO.class), jobSeekerMapper.toDto(seeker));
+        }
+        for (Trainer trainer : List.of(trainer(), new Trainer())) {
+            assertEquals(modelMapper.map(trainer, TrainerDTO.class), trainerMapper.toDto(trainer));
+        }
+    }
+
+    @Test
+    void userDetailsMatchModelMapperForEveryUserType() {
+        for (User user : List.of(employer(), jobSeeker(), trainer(), account(new User()), new Employer(), new User())) {
+            assertEquals(modelMapper.map(user, UserDetailsDTO.class), userDetailsMapper.toDto(user), user.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void employerDtoToEntityMatchesModelMapper() {
+        EmployerDTO dto = employerMapper.toDto(employer());
+        dto.setId(null);
+        dto.setLocation(null);
+
+        assertEquals(employerMapper.toDto(modelMapper.map(dto, Employer.class)),
+                employerMapper.toDto(employerMapper.toEntity(dto)));
+
+        Employer viaModelMapper = employer();
+        Employer viaMapper = employer();
+        viaModelMapper.setCompanyName("Old name");
+        viaMapper.setCompanyName("Old name");
+        modelMapper.map(dto, viaModelMapper);
+        employerMapper.copyToEntity(dto, viaMapper);
+        assertEquals(employerMapper.toDto(viaModelMapper), employerMapper.toDto(viaMapper));
+    }
+
+    @Test
+    void jobDtoToEntityMatchesModelMapper() {
+        for (JobDTO dto : List.of(jobMapper.toDto(job()), new JobDTO())) {
+            assertEquals(modelMapper.map(dto, Job.class), jobMapper.toEntity(dto));
+
+            Job viaModelMapper = job();
+            Job viaMapper = job();
+            modelMapper.map(dto, viaModelMapper);
+            jobMapper.copyToEntity(dto, viaMapper);
+            assertEquals(viaModelMapper, viaMapper);
+        }
+    }
+
+    private static Job job() {
+        return new Job(7, "Backend Engineer", "Build APIs", "Java, Spring", 9L, "Colombo",
+                "full-time", "200000", LocalDateTime.of(2026, 1, 31, 17, 0), "Hybrid", "IT");
+    }
+
+    private static Employer employer() {
+        Employer employer = account(new Employer());
+        employer.setCompanyName("Acme");
+        employer.setProfilePictureUrl("/uploads/profile/e.png");
+        employer.setCompanyLogoUrl("/uploads/company-logos/acme.png");
+        employer.setLocation("Colombo");
+        employer.setOverview("We build things");
+        employer.setIndustry("Software");
+        employer.setCompanySize("50-100");
+        employer.setWebsite("https://acme.example");
+        return employer;
+    }
+
+    private static JobSeeker jobSeeker() {
+        JobSeeker seeker = account(new JobSeeker());
+        seeker.setResumeUrl("/uploads/cv/cv.pdf");
+        seeker.setProfilePictureUrl("/uploads/profile/s.png");
+        seeker.setAbout("About me");
+        seeker.setSkills("Java, SQL");
+        seeker.setExperience("3 years");
+        return seeker;
+    }
+
+    private static Trainer trainer() {
+        Trainer trainer = account(new Trainer());
+        trainer.setExpertise("Cloud");
+        trainer.setProfilePictureUrl("/uploads/profile/t.png");
+        trainer.setBio("Bio");
+        trainer.setExperience("10 years");
+        trainer.setCertifications("AWS");
+        trainer.setAchievements("Awards");
+        return trainer;
+    }
+
+    private static <T extends User> T account(T user) {
+        user.setId(11);
+        user.setUsername("user11");
+        user.setFirstName("Nimal");
+        user.setLastName("Silva");
+        user.setEmail("user11@example.com");
+        user.setPassword("encoded");
+        user.setRole("employer");
+        return user;
+    }
+}
@@ -0,0 +1,152 @@
+package lk.acpt.demo.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lk.acpt.demo.controllers.CourseController;
+import lk.acpt.demo.dto.CourseDTO;
+import lk.acpt.demo.entity.Course;
+import lk.acpt.demo.entity.CourseModule;
+import lk.acpt.demo.entity.Employer;
+import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.repositories.CourseRepository;
+import lk.acpt.demo.repositories.EmployerRepository;
+import lk.acpt.demo.repositories.TrainerRepository;
+import lk.acpt.demo.service.CourseService;
+import lk.acpt.demo.service.TrainerService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CourseCatalogCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseController courseController;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Trainer trainer;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        trainer = new Trainer();
+        trainer.setUsername("trainer-" + System.nanoTime());
+        trainer.setFirstName("Ruwan");
+        trainer.setExpertise("Cloud");
+        trainer.setRole("trainer");
+        trainer = trainerRepository.save(trainer);
+
+        course = new Course();
+        course.setTitle("Spring Boot");
+        course.setTrainer(trainer);
+        course.setPrerequisites(new ArrayList<>(List.of("Java basics")));
+        CourseModule module = new CourseModule();
+        module.setTitle("Getting started");
+        module.setCourse(course);
+        course.setModules(new ArrayList<>(List.of(module)));
+        course = courseRepository.save(course);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+        trainerRepository.deleteAll();
+        employerRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void warmCatalogIsServedWithoutSql() {
+        List<CourseDTO> cold = courseService.getCourseCatalog();
+        courseService.getCourseDetails(course.getId());
+
+        statistics.clear();
+        assertEquals(cold, courseService.getCourseCatalog());
+        assertEquals(cold.get(0), courseService.getCourseDetails(course.getId()).orElseThrow());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void courseUpdateAndDeleteInvalidateTheCatalog() {
+        courseService.getCourseCatalog();
+
+        CourseDTO change = courseService.getCourseDetails(course.getId()).orElseThrow();
+        change.setTitle("Spring Boot 3");
+        change.setPrerequisites(List.of("Java 17"));
+        change.setModules(List.of(new CourseDTO.CourseModuleDTO(null, "Auto-configuration", null, null)));
+        courseController.update(course.getId(), change);
+
+        CourseDTO updated = courseService.getCourseCatalog().get(0);
+        assertEquals("Spring Boot 3", updated.getTitle());
+        assertEquals(List.of("Java 17"), updated.getPrerequisites());
+        assertEquals(List.of("Auto-configuration"),
+                updated.getModules().stream().map(CourseDTO.CourseModuleDTO::getTitle).toList());
+        assertEquals("Spring Boot 3", courseRepository.findById(course.getId()).orElseThrow().getTitle());
+
+        courseController.delete(course.getId());
+        assertEquals(List.of(), courseService.getCourseCatalog());
+        assertFalse(courseRepository.findById(course.getId()).isPresent());
+    }
+
+    @Test
+    void trainerUpdateInvalidatesTheCatalog() {
+        courseService.getCourseCatalog();
+        trainerService.getTrainerById(trainer.getId());
+
+        statistics.clear();
+        trainerService.getTrainerById(trainer.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        Trainer change = new Trainer();
+        change.setExpertise("Kubernetes");
+        trainerService.updateTrainer(trainer.getId(), change);
+
+        assertEquals("Kubernetes", courseService.getCourseCatalog().get(0).getTrainer().getExpertise());
+        assertEquals("Kubernetes", trainerService.getTrainerById(trainer.getId()).getExpertise());
+    }
+
+    @Test
+    void onlyTrainersAreCachedAmongUsers() {
+        Employer employer = new Employer();
+        employer.setUsername("employer-" + System.nanoTime());
+        employer = employerRepository.save(employer);
+        employerRepository.findById(employer.getId());
+        trainerRepository.findById(trainer.getId());
+
+        assertTrue(sessionFactory.getCache().containsEntity(Trainer.class, trainer.getId()));
+        assertFalse(sessionFactory.getCache().containsEntity(Employer.class, employer.getId()));
+    }
+}
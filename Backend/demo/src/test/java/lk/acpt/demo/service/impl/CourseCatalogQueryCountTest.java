@@ -0,0 +1,129 @@
+package lk.acpt.demo.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lk.acpt.demo.dto.CourseDTO;
+import lk.acpt.demo.entity.Course;
+import lk.acpt.demo.entity.CourseModule;
+import lk.acpt.demo.entity.Trainer;
+import lk.acpt.demo.repositories.CourseRepository;
+import lk.acpt.demo.repositories.TrainerRepository;
+import lk.acpt.demo.service.CourseService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class CourseCatalogQueryCountTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Trainer trainer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        trainer = new Trainer();
+        trainer.setUsername("trainer-" + System.nanoTime());
+        trainer.setFirstName("Ruwan");
+        trainer.setLastName("Fernando");
+        trainer.setExpertise("Cloud");
+        trainer.setBio("A long biography that the catalog should never load");
+        trainer.setRole("trainer");
+        trainer = trainerRepository.save(trainer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+        trainerRepository.deleteAll();
+    }
+
+    @Test
+    void catalogQueryCountDoesNotGrowWithCourses() {
+        saveCourses(3);
+        long fewCourses = countQueries(() -> assertEquals(3, courseService.getCourseCatalog().size()));
+
+        saveCourses(27);
+        long manyCourses = countQueries(() -> assertEquals(30, courseService.getCourseCatalog().size()));
+
+        assertEquals(3, fewCourses);
+        assertEquals(fewCourses, manyCourses);
+    }
+
+    @Test
+    void catalogCarriesModulesPrerequisitesAndTrainerSummary() {
+        saveCourses(2);
+        Course withoutTrainer = course("Self-paced", 0, List.of());
+        withoutTrainer.setTrainer(null);
+        courseRepository.save(withoutTrainer);
+
+        List<CourseDTO> catalog = courseService.getCourseCatalog();
+
+        CourseDTO first = catalog.get(0);
+        assertEquals(List.of("Course 0 module 0", "Course 0 module 1"),
+                first.getModules().stream().map(CourseDTO.CourseModuleDTO::getTitle).toList());
+        assertEquals(List.of("Java basics", "SQL basics"), first.getPrerequisites());
+        assertEquals(trainer.getId(), first.getTrainerId());
+        assertEquals("Ruwan", first.getTrainer().getFirstName());
+        assertEquals("Cloud", first.getTrainer().getExpertise());
+
+        CourseDTO last = catalog.get(2);
+        assertEquals(List.of(), last.getModules());
+        assertEquals(List.of(), last.getPrerequisites());
+        assertNull(last.getTrainerId());
+        assertNull(last.getTrainer());
+
+        assertEquals(first, courseService.getCourseDetails(first.getId()).orElseThrow());
+    }
+
+    private long countQueries(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveCourses(int count) {
+        int offset = (int) courseRepository.count();
+        for (int i = offset; i < offset + count; i++) {
+            courseRepository.save(course("Course " + i, 2, List.of("Java basics", "SQL basics")));
+        }
+    }
+
+    private Course course(String title, int modules, List<String> prerequisites) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setLevel("Beginner");
+        course.setTrainer(trainer);
+        course.setPrerequisites(new ArrayList<>(prerequisites));
+        List<CourseModule> courseModules = new ArrayList<>();
+        for (int m = 0; m < modules; m++) {
+            CourseModule module = new CourseModule();
+            module.setTitle(title + " module " + m);
+            module.setCourse(course);
+            courseModules.add(module);
+        }
+        course.setModules(courseModules);
+        return course;
+    }
+}
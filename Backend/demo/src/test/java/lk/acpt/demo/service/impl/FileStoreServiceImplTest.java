@@ -0,0 +1,114 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.service.FileStoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FileStoreServiceImplTest {
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${app.uploads.dir}")
+    private String uploadsDir;
+
+    @Value("${app.uploads.base-url:http://localhost:8080/uploads/}")
+    private String baseUrl;
+
+    @Test
+    void identicalUploadsAreStoredOnceAndCounted() throws Exception {
+        byte[] picture = ("picture " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        String first = fileStoreService.store(new MockMultipartFile("file", "seekerT.png", "image/png", picture));
+        Path stored = storedPath(first);
+        Files.setLastModifiedTime(stored, FileTime.fromMillis(0));
+
+        String second = fileStoreService.store(new MockMultipartFile("file", "EmpT.PNG", "image/png", picture));
+
+        assertEquals(first, second);
+        assertTrue(first.endsWith(".png"));
+        assertEquals(0, Files.getLastModifiedTime(stored).toMillis(), "re-upload must not rewrite the file");
+        try (var files = Files.list(stored.getParent())) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(2, referenceCount(first));
+
+        fileStoreService.release(first);
+        assertEquals(1, referenceCount(first));
+        assertTrue(Files.exists(stored));
+
+        fileStoreService.release(second);
+        assertFalse(Files.exists(stored));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from stored_file where hash = ?", Integer.class, hash(first)));
+    }
+
+    @Test
+    void storedFilesAreServedAsImmutable() throws Exception {
+        byte[] cv = ("%PDF " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        String url = fileStoreService.store(new MockMultipartFile("file", "cv.pdf", "application/pdf", cv));
+
+        mockMvc.perform(get("/uploads/" + url.substring(baseUrl.length())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes(cv));
+
+        fileStoreService.release(url);
+    }
+
+    @Test
+    void legacyUploadsAreDeletedOnReleaseButNothingOutsideThem() throws Exception {
+        Path legacy = Files.createDirectories(Path.of(uploadsDir, "profile")).resolve("profile_EmpT_1.png");
+        Path outside = Path.of(uploadsDir, "notes.txt");
+        Files.writeString(legacy, "old picture");
+        Files.writeString(outside, "not an upload");
+
+        fileStoreService.release(baseUrl + "profile/../notes.txt");
+        fileStoreService.retain("https://example.com/picture.png");
+        fileStoreService.release("https://example.com/picture.png");
+        fileStoreService.release(baseUrl + "profile/profile_EmpT_1.png");
+
+        assertFalse(Files.exists(legacy));
+        assertTrue(Files.exists(outside));
+        Files.delete(outside);
+    }
+
+    private Path storedPath(String url) {
+        return Path.of(uploadsDir, url.substring(baseUrl.length()));
+    }
+
+    private int referenceCount(String url) {
+        return jdbcTemplate.queryForObject("select reference_count from stored_file where hash = ?", Integer.class, hash(url));
+    }
+
+    private static String hash(String url) {
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        return name.substring(0, name.indexOf('.'));
+    }
+}
@@ -0,0 +1,144 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.dto.CandidateSearchHitDTO;
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.JobSeekerService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ResumeTextServiceImplTest {
+
+    @Autowired
+    private JobSeekerService jobSeekerService;
+
+    @Autowired
+    private ResumeTextServiceImpl resumeTextService;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Test
+    void uploadedCvsAreSearchableAndReindexedWhenReplaced() throws Exception {
+        String first = uniqueWord();
+        String second = uniqueWord();
+        JobSeeker seeker = new JobSeeker();
+        seeker.setUsername("cv-search-" + first);
+        seeker.setPassword("secret");
+        seeker.setSkills("Java");
+        seeker = jobSeekerService.createJobSeeker(seeker,
+                pdf("cv.pdf", "Built " + first + " services", "Microservices develop-", "ment with Spring"));
+        Integer id = seeker.getId();
+
+        CandidateSearchHitDTO hit = awaitHit(first, id);
+        assertTrue(hit.getSnippet().toLowerCase().contains(first), hit.getSnippet());
+        assertTrue(isHit("development", id), "words hyphenated across lines are joined");
+
+        jobSeekerService.uploadCv(id, pdf("cv2.pdf", "Now leading " + second + " teams"));
+        awaitHit(second, id);
+        assertFalse(isHit(first, id), "text of the replaced CV is no longer indexed");
+        assertTrue(isHit("java", id), "skills stay indexed");
+
+        jobSeekerService.deleteJobSeeker(id);
+        for (int attempt = 0; attempt < 200 && isHit(second, id); attempt++) {
+            Thread.sleep(50);
+        }
+        assertFalse(isHit(second, id), "deleted seekers leave the index");
+    }
+
+    @Test
+    void cvsWithoutTextAreExtractedWhenTheIndexIsRebuilt() throws Exception {
+        String word = uniqueWord();
+        String lateSkill = uniqueWord();
+        // Saved behind the service's back, so nothing has queued it for indexing
+        JobSeeker seeker = new JobSeeker();
+        seeker.setUsername("cv-backfill-" + word);
+        seeker.setSkills("Java, " + "Spring Boot, ".repeat(20) + lateSkill);
+        seeker.setResumeUrl(fileStoreService.store(pdf("cv.pdf", "Maintained " + word + " pipelines")));
+        Integer id = jobSeekerRepository.save(seeker).getId();
+        assertFalse(isHit(word, id));
+
+        resumeTextService.rebuildIndex();
+
+        awaitHit(word, id);
+        CandidateSearchHitDTO hit = awaitHit(lateSkill, id);
+        assertEquals(200, hit.getSkills().length(), "hits carry a summary of the skills");
+        assertTrue(hit.getSnippet().contains("<mark>" + lateSkill + "</mark>"),
+                "the full skills are read back for the snippet: " + hit.getSnippet());
+        jobSeekerService.deleteJobSeeker(id);
+    }
+
+    @Test
+    void extractedTextIsNormalized() {
+        assertEquals("efficient development of fine APIs",
+                ResumeTextServiceImpl.normalize(" eﬃcient develop-\n  ment of ﬁne\r\n\tAPIs\f"));
+        assertEquals("Spring- Boot", ResumeTextServiceImpl.normalize("Spring-\nBoot"));
+    }
+
+    private CandidateSearchHitDTO awaitHit(String query, Integer id) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            for (CandidateSearchHitDTO hit : jobSeekerService.searchCandidates(query, 100)) {
+                if (hit.getJobSeekerId().equals(id)) {
+                    return hit;
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job seeker " + id + " not found for '" + query + "'");
+    }
+
+    private boolean isHit(String query, Integer id) {
+        List<CandidateSearchHitDTO> hits = jobSeekerService.searchCandidates(query, 100);
+        return hits.stream().anyMatch(hit -> hit.getJobSeekerId().equals(id));
+    }
+
+    // Letters only, so the word is a single search term; new per run, so every run stores new content
+    private static String uniqueWord() {
+        StringBuilder word = new StringBuilder("zq");
+        for (int i = 0; i < 10; i++) {
+            word.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static MockMultipartFile pdf(String name, String... lines) throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.setLeading(16);
+                content.newLineAtOffset(72, 700);
+                for (String line : lines) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return new MockMultipartFile("file", name, "application/pdf", out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.service.FileStoreService;
+import lk.acpt.demo.service.ThumbnailService;
+import lk.acpt.demo.storage.FileStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ThumbnailServiceImplTest {
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void uploadsGetScaledVariantsThatAreDeletedWithTheOriginal() throws Exception {
+        String url = fileStoreService.store(image("photo.png", 1000, 500, BufferedImage.TYPE_INT_RGB));
+        String hash = hash(url);
+
+        thumbnailService.generateThumbnails(url);
+
+        for (int size : ThumbnailService.SIZES) {
+            String thumbnail = awaitThumbnail(hash, size);
+            assertTrue(thumbnail.endsWith(".jpg"), "opaque images become JPEG");
+            BufferedImage scaled;
+            try (InputStream in = fileStorage.resource(thumbnail).getInputStream()) {
+                scaled = ImageIO.read(in);
+            }
+            assertEquals(size, scaled.getWidth());
+            assertEquals(size / 2, scaled.getHeight());
+        }
+
+        fileStoreService.release(url);
+        for (int size : ThumbnailService.SIZES) {
+            assertFalse(thumbnailService.findThumbnail(hash, size).isPresent());
+        }
+    }
+
+    @Test
+    void variantUrlRedirectsToTheOriginalUntilTheThumbnailExists() throws Exception {
+        String url = fileStoreService.store(image("logo.png", 300, 300, BufferedImage.TYPE_INT_ARGB));
+        String thumbnailUrl = thumbnailService.thumbnailUrl(url, ThumbnailService.LOGO);
+        String path = thumbnailUrl.substring(thumbnailUrl.indexOf("/uploads/"));
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isTemporaryRedirect())
+                .andExpect(header().string("Location", url))
+                .andExpect(header().string("Cache-Control", "no-store"));
+
+        String thumbnail = awaitThumbnail(hash(url), ThumbnailService.LOGO);
+        assertTrue(thumbnail.endsWith(".png"), "transparency is kept");
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+
+        fileStoreService.release(url);
+    }
+
+    @Test
+    void filesWithoutThumbnailsKeepTheirUrl() {
+        String pdf = "http://localhost:8080/uploads/cv/cv_seekerT_1751441143084.pdf";
+        assertEquals(pdf, thumbnailService.thumbnailUrl(pdf, ThumbnailService.AVATAR));
+        assertEquals(null, thumbnailService.thumbnailUrl(null, ThumbnailService.AVATAR));
+    }
+
+    private String awaitThumbnail(String hash, int size) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            Optional<String> thumbnail = thumbnailService.findThumbnail(hash, size);
+            if (thumbnail.isPresent()) {
+                return thumbnail.get();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No " + size + "px thumbnail for " + hash);
+    }
+
+    // Random pixels so every test run stores new content
+    private static MockMultipartFile image(String name, int width, int height, int type) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(ThreadLocalRandom.current().nextInt()));
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        image.setRGB(0, 0, ThreadLocalRandom.current().nextInt());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", name, "image/png", out.toByteArray());
+    }
+
+    private static String hash(String url) {
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        return name.substring(0, name.indexOf('.'));
+    }
+}
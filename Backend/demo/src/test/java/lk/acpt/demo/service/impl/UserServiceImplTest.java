@@ -0,0 +1,92 @@
+package lk.acpt.demo.service.impl;
+
+import lk.acpt.demo.dto.UserLoginResponseDTO;
+import lk.acpt.demo.entity.User;
+import lk.acpt.demo.repositories.UserRepo;
+import lk.acpt.demo.util.JWTTokenGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepo userRepo;
+
+    @Mock
+    private JWTTokenGenerator jwtTokenGenerator;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void loginUsesSingleUsernameLookup() {
+        User user = new User(7, "seeker", "Sam", "Perera", "sam@example.com", encode("secret"), "jobseeker");
+        when(userRepo.findAllByUsername("seeker")).thenReturn(List.of(user));
+        when(jwtTokenGenerator.generateToken(user)).thenReturn("token");
+
+        UserLoginResponseDTO response = userService.login("seeker", "secret");
+
+        assertEquals(7, response.getId());
+        assertEquals("token", response.getToken());
+        assertEquals("jobseeker", response.getRole());
+        verify(userRepo, times(1)).findAllByUsername("seeker");
+        verify(userRepo, never()).findAll();
+    }
+
+    @Test
+    void loginRejectsWrongPassword() {
+        User user = new User(7, "seeker", "Sam", "Perera", "sam@example.com", encode("secret"), "jobseeker");
+        when(userRepo.findAllByUsername("seeker")).thenReturn(List.of(user));
+
+        assertNull(userService.login("seeker", "wrong"));
+        verify(jwtTokenGenerator, never()).generateToken(any());
+    }
+
+    @Test
+    void loginRejectsUnknownUser() {
+        assertNull(userService.login("nobody", "secret"));
+        verify(userRepo, never()).findAll();
+    }
+
+    @Test
+    void loginFindsTheAccountWhosePasswordMatchesAmongDuplicates() {
+        // Databases from before the unique constraint can still hold one username twice
+        User first = new User(7, "seeker", "Sam", "Perera", "sam@example.com", encode("secret"), "jobseeker");
+        User second = new User(8, "seeker", "Sam", "Fernando", "samf@example.com", encode("other"), "employer");
+        when(userRepo.findAllByUsername("seeker")).thenReturn(List.of(first, second));
+        when(jwtTokenGenerator.generateToken(second)).thenReturn("token");
+
+        UserLoginResponseDTO response = userService.login("seeker", "other");
+
+        assertEquals(8, response.getId());
+        assertEquals("employer", response.getRole());
+    }
+
+    @Test
+    void registerRefusesATakenUsername() {
+        when(userRepo.existsByUsername("seeker")).thenReturn(true);
+
+        assertNull(userService.register(new User(null, "seeker", "Sam", "Perera", "sam@example.com", "secret", "jobseeker")));
+        verify(userRepo, never()).save(any());
+    }
+
+    private static String encode(String password) {
+        return Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8));
+    }
+}
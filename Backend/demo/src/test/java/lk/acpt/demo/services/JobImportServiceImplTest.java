@@ -0,0 +1,135 @@
+package lk.acpt.demo.services;
+
+import lk.acpt.demo.controllers.JobController;
+import lk.acpt.demo.dto.BulkJobImportDTO;
+import lk.acpt.demo.dto.JobDTO;
+import lk.acpt.demo.repositories.JobRepository;
+import lk.acpt.demo.search.JobSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JobImportServiceImplTest {
+
+    @Autowired
+    private JobController jobController;
+
+    @Autowired
+    private JobImportService jobImportService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void csvImportMapsGeneratedIdsBackToTheirRows() {
+        String run = UUID.randomUUID().toString();
+        String csv = "Title,employerId,Description,deadline\r\n"
+                + "\"First, " + run + "\",1,\"Line one\nline two\",2030-01-01T00:00:00\r\n"
+                + "\"Second \"\"" + run + "\"\"\",2,,\r\n"
+                + "Third " + run + ",3,plain,\r\n";
+
+        ResponseEntity<BulkJobImportDTO> response = jobController.bulkCreateCsv(csv);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        BulkJobImportDTO result = response.getBody();
+        assertEquals(3, result.getCreated());
+        List<String> expectedTitles = List.of("First, " + run, "Second \"" + run + "\"", "Third " + run);
+        for (int i = 0; i < 3; i++) {
+            BulkJobImportDTO.RowResultDTO row = result.getRows().get(i);
+            assertEquals(i + 1, row.getRow());
+            assertTrue(row.isCreated());
+            assertEquals(expectedTitles.get(i), jobRepository.findById(row.getJobId()).orElseThrow().getTitle());
+            assertEquals(Long.valueOf(i + 1), jobRepository.findById(row.getJobId()).orElseThrow().getEmployerId());
+        }
+        assertEquals("Line one\nline two",
+                jobRepository.findById(result.getRows().get(0).getJobId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void unterminatedQuoteIsABadRequest() {
+        long before = jobRepository.count();
+        ResponseEntity<BulkJobImportDTO> response = jobController.bulkCreateCsv("title,employerId\n\"Open,1\n");
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(before, jobRepository.count());
+    }
+
+    @Test
+    void oneInvalidRowRejectsTheWholeImport() {
+        long before = jobRepository.count();
+        List<JobDTO> jobs = new ArrayList<>();
+        jobs.add(job("Valid"));
+        JobDTO missingEmployer = job("No employer");
+        missingEmployer.setEmployerId(null);
+        jobs.add(missingEmployer);
+        jobs.add(job("Also valid"));
+
+        ResponseEntity<BulkJobImportDTO> response = jobController.bulkCreate(jobs);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        BulkJobImportDTO result = response.getBody();
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(List.of("employerId is required"), result.getRows().get(1).getErrors());
+        assertTrue(result.getRows().stream().noneMatch(BulkJobImportDTO.RowResultDTO::isCreated));
+        assertEquals(before, jobRepository.count());
+    }
+
+    @Test
+    void csvParseErrorsAreReportedPerRow() {
+        long before = jobRepository.count();
+        ResponseEntity<BulkJobImportDTO> response = jobController.bulkCreateCsv(
+                "title,employerId,deadline\nGood,1,\nBad,one,tomorrow\n");
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(List.of("employerId 'one' is not a number", "deadline 'tomorrow' is not an ISO date-time",
+                "employerId is required"), response.getBody().getRows().get(1).getErrors());
+        assertEquals(before, jobRepository.count());
+    }
+
+    @Test
+    void importedJobsBecomeSearchableOnlyAfterCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<Integer> ids = transaction.execute(status -> {
+            BulkJobImportDTO result = jobImportService.importJobs(List.of(job("Committed")));
+            Integer id = result.getRows().get(0).getJobId();
+            assertFalse(jobSearchIndex.get(id).isPresent(), "not searchable before commit");
+            return List.of(id);
+        });
+        assertTrue(jobSearchIndex.get(ids.get(0)).isPresent());
+
+        Integer rolledBack = transaction.execute(status -> {
+            BulkJobImportDTO result = jobImportService.importJobs(List.of(job("Rolled back")));
+            status.setRollbackOnly();
+            return result.getRows().get(0).getJobId();
+        });
+        assertFalse(jobSearchIndex.get(rolledBack).isPresent());
+        assertFalse(jobRepository.existsById(rolledBack));
+    }
+
+    private static JobDTO job(String title) {
+        JobDTO job = new JobDTO();
+        job.setTitle(title);
+        job.setEmployerId(1);
+        return job;
+    }
+}
@@ -0,0 +1,131 @@
+package lk.acpt.demo.stats;
+
+import lk.acpt.demo.entity.Job;
+import lk.acpt.demo.repositories.JobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JobViewTrackerTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Test
+    void flushAddsViewsToJobStatsAndRanksByThem() {
+        JobViewTracker tracker = new JobViewTracker(jdbcTemplate, Duration.ofHours(6));
+        Integer popular = newJob();
+        Integer quiet = newJob();
+
+        views(tracker, popular, 3);
+        views(tracker, quiet, 1);
+        tracker.flush();
+        views(tracker, popular, 2);
+        tracker.flush();
+
+        assertEquals(5L, viewCount(popular));
+        assertEquals(1L, viewCount(quiet));
+        List<JobViewTracker.Trending> trending = tracker.trending(2);
+        assertEquals(List.of(popular, quiet), trending.stream().map(JobViewTracker.Trending::jobId).toList());
+        assertEquals(5.0, trending.get(0).score(), 0.01);
+    }
+
+    @Test
+    void scoresHalveEveryHalfLife() throws InterruptedException {
+        JobViewTracker tracker = new JobViewTracker(jdbcTemplate, Duration.ofMillis(200));
+        Integer job = newJob();
+
+        views(tracker, job, 8);
+        tracker.flush();
+        Thread.sleep(400);
+        tracker.flush();
+
+        // Two half-lives, give or take scheduling
+        double score = tracker.trending(1).get(0).score();
+        assertTrue(score > 0.8 && score < 6, "decayed score " + score);
+        assertEquals(8L, viewCount(job), "decay only affects the ranking");
+    }
+
+    @Test
+    void failedWritesAreRetriedAtTheNextFlush() {
+        FailingJdbcTemplate failing = new FailingJdbcTemplate(dataSource);
+        JobViewTracker tracker = new JobViewTracker(failing, Duration.ofHours(6));
+        Integer job = newJob();
+
+        views(tracker, job, 4);
+        failing.failNextBatch = true;
+        tracker.flush();
+        assertEquals(null, viewCount(job));
+        assertEquals(job, tracker.trending(1).get(0).jobId(), "ranked even though the write failed");
+
+        views(tracker, job, 1);
+        tracker.flush();
+        assertEquals(5L, viewCount(job));
+    }
+
+    @Test
+    void viewsRecordedAfterForgetDoNotBringTheRowBack() {
+        JobViewTracker tracker = new JobViewTracker(jdbcTemplate, Duration.ofHours(6));
+        Integer job = newJob();
+        views(tracker, job, 2);
+        tracker.flush();
+
+        jobRepository.deleteById(job);
+        tracker.forget(job);
+        views(tracker, job, 1);
+        tracker.flush();
+
+        assertEquals(null, viewCount(job));
+        assertTrue(tracker.trending(10).stream().noneMatch(entry -> entry.jobId().equals(job)));
+    }
+
+    private Integer newJob() {
+        Job job = new Job();
+        job.setTitle("Viewed job");
+        return jobRepository.save(job).getId();
+    }
+
+    private static void views(JobViewTracker tracker, Integer jobId, int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.recordView(jobId);
+        }
+    }
+
+    private Long viewCount(Integer jobId) {
+        List<Long> counts = jdbcTemplate.queryForList("select view_count from job_stats where job_id = ?", Long.class, jobId);
+        return counts.isEmpty() ? null : counts.get(0);
+    }
+
+    private static class FailingJdbcTemplate extends JdbcTemplate {
+        boolean failNextBatch;
+
+        FailingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failNextBatch) {
+                failNextBatch = false;
+                throw new DataAccessResourceFailureException("Connection lost");
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}
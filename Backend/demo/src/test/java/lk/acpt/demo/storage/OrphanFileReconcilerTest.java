@@ -0,0 +1,155 @@
+package lk.acpt.demo.storage;
+
+import lk.acpt.demo.entity.JobSeeker;
+import lk.acpt.demo.repositories.JobSeekerRepository;
+import lk.acpt.demo.service.FileStoreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OrphanFileReconcilerTest {
+
+    @Autowired
+    private OrphanFileReconciler reconciler;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.uploads.dir}")
+    private String uploadsDir;
+
+    private final List<JobSeeker> seekers = new ArrayList<>();
+
+    @AfterEach
+    void deleteSeekers() {
+        jobSeekerRepository.deleteAll(seekers);
+    }
+
+    @Test
+    void unreferencedKeysAreReportedThenReclaimedOnceOlderThanTheGracePeriod() throws Exception {
+        String orphan = "files/" + shardedName(".png");
+        String recent = "files/" + shardedName(".png");
+        String thumbnail = "thumbnails/64/" + shardedName(".jpg");
+        String legacy = "cv/cv_gone_" + UUID.randomUUID() + ".pdf";
+        String linkedLegacy = "cv/cv_kept_" + UUID.randomUUID() + ".pdf";
+        for (String key : List.of(orphan, thumbnail, legacy, linkedLegacy)) {
+            put(key);
+            Files.setLastModifiedTime(Path.of(uploadsDir, key), FileTime.fromMillis(0));
+        }
+        put(recent);
+        // Saved as a Windows path before uploads had URLs
+        seeker(null, "C:\\project\\uploads\\" + linkedLegacy.replace('/', '\\'));
+
+        OrphanFileReconciler.Report dryRun = reconciler.reconcile(true);
+        assertTrue(dryRun.dryRun());
+        assertTrue(dryRun.sample().containsAll(List.of(orphan, thumbnail, legacy)), dryRun.sample().toString());
+        assertFalse(dryRun.sample().contains(recent));
+        assertFalse(dryRun.sample().contains(linkedLegacy));
+        assertTrue(fileStorage.exists(orphan));
+
+        OrphanFileReconciler.Report report = reconciler.reconcile(false);
+        assertTrue(report.orphanFiles() >= 1 && report.orphanThumbnails() >= 1 && report.orphanLegacyFiles() >= 1);
+        assertFalse(fileStorage.exists(orphan));
+        assertFalse(fileStorage.exists(thumbnail));
+        assertFalse(fileStorage.exists(legacy));
+        assertTrue(fileStorage.exists(recent));
+        assertTrue(fileStorage.exists(linkedLegacy));
+
+        fileStorage.delete(recent);
+        fileStorage.delete(linkedLegacy);
+    }
+
+    @Test
+    void referenceCountsAreBroughtInLineWithTheProfiles() throws Exception {
+        MockMultipartFile picture = new MockMultipartFile("file", "picture.png", "image/png",
+                ("picture " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        String tooHigh = fileStoreService.store(picture);
+        fileStoreService.store(picture);
+        seeker(tooHigh, null);
+
+        MockMultipartFile cv = new MockMultipartFile("file", "cv.pdf", "application/pdf",
+                ("%PDF " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        String tooLow = fileStoreService.store(cv);
+        seeker(null, tooLow);
+        seeker(null, tooLow);
+
+        reconciler.reconcile(false);
+        assertEquals(2, referenceCount(tooLow), "missing counts are added at once");
+        assertEquals(2, referenceCount(tooHigh), "extra counts wait for a second run");
+
+        // A fresh instance, as after a restart: the count suspected by the first run is read back from stored_file
+        new OrphanFileReconciler(jdbcTemplate, fileStoreService, fileStorage, false, Duration.ofHours(1), 1000)
+                .reconcile(false);
+        assertEquals(1, referenceCount(tooHigh));
+
+        // Deleted behind the store's back, as the controllers used to
+        jobSeekerRepository.deleteAll(seekers);
+        seekers.clear();
+        reconciler.reconcile(false);
+        reconciler.reconcile(false);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from stored_file where hash in (?, ?)", Integer.class,
+                hash(tooHigh), hash(tooLow)));
+        assertFalse(fileStorage.exists(fileStoreService.storageKey(tooHigh).orElseThrow()));
+        assertFalse(fileStorage.exists(fileStoreService.storageKey(tooLow).orElseThrow()));
+    }
+
+    private void seeker(String profilePictureUrl, String resumeUrl) {
+        JobSeeker seeker = new JobSeeker();
+        seeker.setUsername("seeker-" + UUID.randomUUID());
+        seeker.setRole("jobseeker");
+        seeker.setProfilePictureUrl(profilePictureUrl);
+        seeker.setResumeUrl(resumeUrl);
+        seekers.add(jobSeekerRepository.save(seeker));
+    }
+
+    private void put(String key) throws IOException {
+        byte[] content = key.getBytes(StandardCharsets.UTF_8);
+        fileStorage.put(key, new ByteArrayResource(content), content.length, "application/octet-stream");
+    }
+
+    private int referenceCount(String url) {
+        return jdbcTemplate.queryForObject("select reference_count from stored_file where hash = ?", Integer.class, hash(url));
+    }
+
+    private static String shardedName(String extension) throws Exception {
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8)));
+        return hash.substring(0, 2) + "/" + hash + extension;
+    }
+
+    private static String hash(String url) {
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        return name.substring(0, name.indexOf('.'));
+    }
+}
@@ -0,0 +1,54 @@
+package lk.acpt.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithDoubledQuotesAndLineBreaks() throws IOException {
+        String csv = "title,description\r\n"
+                + "\"Engineer, Backend\",\"Says \"\"hi\"\"\"\r\n"
+                + "Plain,\"two\r\nlines\"\n"
+                + ",\n"
+                + "last,no newline";
+        assertEquals(List.of(
+                List.of("title", "description"),
+                List.of("Engineer, Backend", "Says \"hi\""),
+                List.of("Plain", "two\r\nlines"),
+                List.of("", ""),
+                List.of("last", "no newline")), readAll(csv));
+    }
+
+    @Test
+    void quotesOnlyCountAtTheStartOfAField() throws IOException {
+        assertEquals(List.of(List.of("5\" screen", "a\"b")), readAll("5\" screen,a\"b\n"));
+    }
+
+    @Test
+    void unterminatedQuoteIsAnError() {
+        CsvReader reader = new CsvReader(new StringReader("title\n\"never closed\n"));
+        assertThrows(IOException.class, () -> {
+            while (reader.readRecord() != null) {
+                // read to the end
+            }
+        });
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
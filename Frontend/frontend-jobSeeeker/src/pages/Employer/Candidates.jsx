@@ -1,12 +1,14 @@
 import React, { useEffect, useState } from 'react';
 import { api } from '../../api';
-import { Box, Button, Typography, Card, CardContent, Avatar, Chip, Fade, Tabs, Tab } from '@mui/material';
+import { Box, Button, Typography, Card, CardContent, Avatar, Chip, Fade, Tabs, Tab, Pagination } from '@mui/material';
 import '../../App.css';
 import "@fontsource/quicksand";
 import { useNavigate } from 'react-router-dom';
 import Navbar from '../../components/Navbar';
 import CandidateProfile from '../../components/CandidateProfile';
 
+const PAGE_SIZE = 20;
+
 const Candidates = () => {
   const navigate = useNavigate();
   const [allCandidates, setAllCandidates] = useState([]);
@@ -14,74 +16,100 @@ const Candidates = () => {
   const [loading, setLoading] = useState(true);
   const [cardIn, setCardIn] = useState([]);
   const [selectedTab, setSelectedTab] = useState(0);
-  const [applications, setApplications] = useState([]);
   const [jobs, setJobs] = useState([]);
   const [selectedCandidate, setSelectedCandidate] = useState(null);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
+  const [applicationPage, setApplicationPage] = useState(0);
+  const [applicationTotalPages, setApplicationTotalPages] = useState(0);
+
+  const authHeaders = () => {
+    const token = localStorage.getItem('token');
+    return { Authorization: token ? `${token}` : undefined };
+  };
 
+  const animateCards = (count) => {
+    setCardIn(Array(count).fill(false));
+    for (let i = 0; i < count; i++) {
+      setTimeout(() => {
+        setCardIn(prev => {
+          const next = [...prev];
+          next[i] = true;
+          return next;
+        });
+      }, 100 * i);
+    }
+  };
+
+  // All candidates, one page of the directory at a time
   useEffect(() => {
-    const fetchData = async () => {
+    const fetchCandidates = async () => {
       try {
-        const token = localStorage.getItem('token');
-        const employerId = sessionStorage.getItem('id');
-        
-        // Fetch all users
-        const usersRes = await api.get('/user/all', {
-          headers: { Authorization: token ? `${token}` : undefined }
+        const usersRes = await api.get('/users', {
+          params: { role: 'jobseeker', page, size: PAGE_SIZE },
+          headers: authHeaders()
         });
-        const jobSeekers = usersRes.data.filter(u => u.role === 'jobseeker');
-        setAllCandidates(jobSeekers);
-        
-        // Fetch employer's jobs
+        setAllCandidates(usersRes.data.items);
+        setTotalPages(usersRes.data.totalPages);
+        if (selectedTab === 0) animateCards(usersRes.data.items.length);
+      } catch (err) {
+        console.error('Error fetching candidates:', err);
+        setAllCandidates([]);
+      } finally {
+        setLoading(false);
+      }
+    };
+    fetchCandidates();
+  }, [page]);
+
+  // Employer's jobs, for the titles shown on applications
+  useEffect(() => {
+    const fetchJobs = async () => {
+      try {
+        const employerId = sessionStorage.getItem('id');
         const jobsRes = await api.get('/jobs', {
-          headers: { Authorization: token ? `${token}` : undefined }
+          headers: authHeaders()
         });
-        const employerJobs = jobsRes.data.filter(job => job.employerId === parseInt(employerId));
-        setJobs(employerJobs);
-        
-        // Fetch applications
-        const applicationsRes = await api.get('/applications', {
-          headers: { Authorization: token ? `${token}` : undefined }
+        setJobs(jobsRes.data.filter(job => job.employerId === parseInt(employerId)));
+      } catch (err) {
+        console.error('Error fetching jobs:', err);
+        setJobs([]);
+      }
+    };
+    fetchJobs();
+  }, []);
+
+  // Applications to this employer's jobs, one page at a time, with the applicants looked up by id
+  useEffect(() => {
+    const fetchApplications = async () => {
+      try {
+        const employerId = sessionStorage.getItem('id');
+        const applicationsRes = await api.get(`/applications/employer/${employerId}`, {
+          params: { page: applicationPage, size: PAGE_SIZE },
+          headers: authHeaders()
         });
-        const allApplications = applicationsRes.data;
-        setApplications(allApplications);
-        
-        // Filter applications for employer's jobs
-        const employerJobIds = employerJobs.map(job => job.id);
-        const employerApplications = allApplications.filter(app => 
-          employerJobIds.includes(app.jobId)
-        );
-        
-        // Get unique candidate IDs who applied
-        const appliedCandidateIds = [...new Set(employerApplications.map(app => app.jobSeekerId))];
-        
-        // Get candidate details for those who applied
-        const appliedCandidatesList = jobSeekers.filter(candidate => 
-          appliedCandidateIds.includes(candidate.id)
-        );
+        const applications = applicationsRes.data.items;
+        setApplicationTotalPages(applicationsRes.data.totalPages);
+
+        const applicantIds = [...new Set(applications.map(app => app.jobSeekerId))];
+        const usersRes = applicantIds.length > 0
+          ? await api.get('/users', { params: { ids: applicantIds.join(',') }, headers: authHeaders() })
+          : { data: [] };
+        const applicants = new Map(usersRes.data.map(user => [user.id, user]));
+
+        // One card per application, so a page of cards is exactly a page of applications
+        const appliedCandidatesList = applications
+          .filter(app => applicants.has(app.jobSeekerId))
+          .map(app => ({ ...applicants.get(app.jobSeekerId), application: app }));
         setAppliedCandidates(appliedCandidatesList);
-        
-        // Set up card animations
-        const candidateCount = Math.max(jobSeekers.length, appliedCandidatesList.length);
-        setCardIn(Array(candidateCount).fill(false));
-        for (let i = 0; i < candidateCount; i++) {
-          setTimeout(() => {
-            setCardIn(prev => {
-              const next = [...prev];
-              next[i] = true;
-              return next;
-            });
-          }, 100 * i);
-        }
+        if (selectedTab === 1) animateCards(appliedCandidatesList.length);
       } catch (err) {
-        console.error('Error fetching data:', err);
-        setAllCandidates([]);
+        console.error('Error fetching applications:', err);
         setAppliedCandidates([]);
-      } finally {
-        setLoading(false);
       }
     };
-    fetchData();
-  }, []);
+    fetchApplications();
+  }, [applicationPage]);
 
   const handleLogout = () => {
     localStorage.removeItem('token');
@@ -90,22 +118,18 @@ const Candidates = () => {
 
   const handleTabChange = (event, newValue) => {
     setSelectedTab(newValue);
+    animateCards((newValue === 0 ? allCandidates : appliedCandidates).length);
   };
 
   const getCurrentCandidates = () => {
     return selectedTab === 0 ? allCandidates : appliedCandidates;
   };
 
-  const getApplicationInfo = (candidateId) => {
-    const candidateApplications = applications.filter(app => app.jobSeekerId === candidateId);
-    const jobTitles = candidateApplications.map(app => {
-      const job = jobs.find(j => j.id === app.jobId);
-      return job ? job.title : 'Unknown Job';
-    });
+  const getApplicationInfo = (candidate) => {
+    const job = jobs.find(j => j.id === candidate.application.jobId);
     return {
-      count: candidateApplications.length,
-      jobs: jobTitles,
-      latestStatus: candidateApplications[0]?.status || 'Pending'
+      jobTitle: job ? job.title : 'Unknown Job',
+      status: candidate.application.status || 'Pending'
     };
   };
 
@@ -149,8 +173,17 @@ const Candidates = () => {
     }
   };
 
-  const handleViewProfile = (candidate) => {
+  // Directory entries only carry the start of the long texts, so the profile loads the full record
+  const handleViewProfile = async (candidate) => {
     setSelectedCandidate(candidate);
+    try {
+      const res = await api.get(`/job-seekers/${candidate.id}`, {
+        headers: authHeaders()
+      });
+      setSelectedCandidate(current => current && current.id === candidate.id ? { ...candidate, ...res.data } : current);
+    } catch (err) {
+      console.error('Error fetching candidate profile:', err);
+    }
   };
 
   const handleCloseProfile = () => {
@@ -204,9 +237,9 @@ const Candidates = () => {
           {loading ? (
             <Typography sx={{ mt: 4, textAlign: 'center', color: '#fff' }}>Loading candidates...</Typography>
           ) : getCurrentCandidates().length > 0 ? getCurrentCandidates().map((candidate, idx) => {
-            const appInfo = selectedTab === 1 ? getApplicationInfo(candidate.id) : null;
+            const appInfo = selectedTab === 1 ? getApplicationInfo(candidate) : null;
             return (
-              <Fade in={cardIn[idx]} timeout={600} key={candidate.id || idx}>
+              <Fade in={cardIn[idx]} timeout={600} key={selectedTab === 1 ? `application-${candidate.application.id}` : candidate.id || idx}>
                 <Card sx={{ mb: 3, boxShadow: 2, borderRadius: 2, p: 3, display: 'flex', alignItems: 'flex-start', minHeight: 160, width: '100%', maxWidth: 900 }}>
                   <Avatar
                     sx={{ width: 90, height: 90, mr: 3, mt: 1 }}
@@ -234,19 +267,16 @@ const Candidates = () => {
                     {selectedTab === 1 && appInfo && (
                       <Box sx={{ mb: 2, p: 2, backgroundColor: '#f5f5f5', borderRadius: 1 }}>
                         <Typography sx={{ fontWeight: 600, color: '#333', fontSize: '0.95rem', mb: 1 }}>
-                          Application Status: <Chip label={appInfo.latestStatus} size="small" color={appInfo.latestStatus === 'Pending' ? 'warning' : 'success'} />
-                        </Typography>
-                        <Typography sx={{ color: '#666', fontSize: '0.9rem' }}>
-                          Applied for: {appInfo.jobs.join(', ')}
+                          Application Status: <Chip label={appInfo.status} size="small" color={appInfo.status === 'Pending' ? 'warning' : 'success'} />
                         </Typography>
                         <Typography sx={{ color: '#666', fontSize: '0.9rem' }}>
-                          Total Applications: {appInfo.count}
+                          Applied for: {appInfo.jobTitle}
                         </Typography>
                       </Box>
                     )}
                     
                     <Typography sx={{ mt: 1, color: '#444', fontSize: '1.05rem', mb: 2 }}>
-                      {candidate.about || candidate.bio || 'Professional seeking new opportunities.'}
+                      {candidate.summary || 'Professional seeking new opportunities.'}
                     </Typography>
                     
                     {/* Experience Section */}
@@ -341,6 +371,22 @@ const Candidates = () => {
               {selectedTab === 0 ? 'No candidates found.' : 'No candidates have applied for your jobs yet.'}
             </Typography>
           )}
+          {selectedTab === 0 && totalPages > 1 && (
+            <Pagination
+              count={totalPages}
+              page={page + 1}
+              onChange={(event, value) => setPage(value - 1)}
+              sx={{ mb: 4, '& .MuiPaginationItem-root': { color: '#fff' } }}
+            />
+          )}
+          {selectedTab === 1 && applicationTotalPages > 1 && (
+            <Pagination
+              count={applicationTotalPages}
+              page={applicationPage + 1}
+              onChange={(event, value) => setApplicationPage(value - 1)}
+              sx={{ mb: 4, '& .MuiPaginationItem-root': { color: '#fff' } }}
+            />
+          )}
         </Box>
       </Box>
       
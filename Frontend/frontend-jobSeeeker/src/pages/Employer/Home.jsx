@@ -18,8 +18,7 @@ const EmployerHome = () => {
   const navigate = useNavigate();
   const [current, setCurrent] = useState(0);
   const [jobs, setJobs] = useState([]);
-  const [candidates, setCandidates] = useState([]);
-  const [users, setUsers] = useState([]);
+  const [companyName, setCompanyName] = useState('');
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
@@ -30,45 +29,21 @@ const EmployerHome = () => {
   }, []);
 
   useEffect(() => {
-    const fetchMyJobs = async () => {
+    const fetchDashboard = async () => {
       try {
         const token = localStorage.getItem('token');
         const employerId = sessionStorage.getItem('id');
-        const res = await api.get('/jobs', {
+        // Counts are computed on the server; jobs come back newest first
+        const res = await api.get(`/employers/${employerId}/dashboard`, {
           headers: { Authorization: token ? `${token}` : undefined }
         });
-        if (Array.isArray(res.data)) {
-          // Filter jobs posted by this employer
-          const myJobs = res.data.filter(job => job.employerId == employerId);
-          const sorted = [...myJobs].sort((a, b) => b.id - a.id).slice(0, 20);
-          setJobs(sorted);
-        }
+        setJobs(res.data.jobs.slice(0, 20));
+        setCompanyName(res.data.companyName || '');
       } catch (err) {
         setJobs([]);
       }
     };
-    fetchMyJobs();
-  }, []);
-
-  useEffect(() => {
-    const fetchCandidates = async () => {
-      try {
-        const token = localStorage.getItem('token');
-        const res = await api.get('/user/all', {
-          headers: { Authorization: token ? `${token}` : undefined }
-        });
-        if (Array.isArray(res.data)) {
-          // Filter only job seekers
-          const jobSeekers = res.data.filter(user => user.role === 'jobseeker');
-          setCandidates(jobSeekers.slice(0, 10)); // Show top 10 candidates
-          setUsers(res.data);
-        }
-      } catch (err) {
-        setCandidates([]);
-        setUsers([]);
-      }
-    };
-    fetchCandidates();
+    fetchDashboard();
   }, []);
 
   useEffect(() => {
@@ -266,10 +241,8 @@ const EmployerHome = () => {
               }
               // Job type badge (default: Full-time Job)
               const jobType = job.jobTime || 'Full-time Job';
-              // Find user by employerId
-              const employerUser = users.find(u => u.id === job.employerId);
               return (
-                <Card key={job.id} className="job-card-custom job-card-animate" sx={{ minWidth: 280, maxWidth: 340, flex: '1 1 300px', p: 0, animationDelay: `${idx * 80}ms` }} style={{ animationDelay: `${idx * 80}ms` }}>
+                <Card key={job.jobId} className="job-card-custom job-card-animate" sx={{ minWidth: 280, maxWidth: 340, flex: '1 1 300px', p: 0, animationDelay: `${idx * 80}ms` }} style={{ animationDelay: `${idx * 80}ms` }}>
                   {/* Days left */}
                   <span className="job-daysleft">
                     <svg width="18" height="18" fill="none" viewBox="0 0 24 24" style={{marginRight:4}}><path d="M12 8v5l3 2" stroke="#888" strokeWidth="1.7" strokeLinecap="round" strokeLinejoin="round"/><circle cx="12" cy="12" r="9" stroke="#888" strokeWidth="1.7"/></svg>
@@ -278,12 +251,15 @@ const EmployerHome = () => {
                   {/* Job type badge */}
                   <span className="job-badge">{jobType}</span>
                   <CardContent sx={{ pt: 7, pb: 1, px: 2, textAlign: 'center', flex: 1 }}>
-                    <Typography sx={{ color: '#888', fontWeight: 500, fontSize: '1.05rem', mt: 1, mb: 0.5, fontFamily: 'Quicksand, sans-serif' }}>{employerUser ? employerUser.companyName : 'My Company'}</Typography>
+                    <Typography sx={{ color: '#888', fontWeight: 500, fontSize: '1.05rem', mt: 1, mb: 0.5, fontFamily: 'Quicksand, sans-serif' }}>{companyName || 'My Company'}</Typography>
                     <Typography variant="h6" sx={{ color: '#222', fontWeight: 700, fontFamily: 'Quicksand, sans-serif', fontSize: '1.18rem', mb: 0.5 }}>{job.title}</Typography>
                     <Typography sx={{ color: '#b0b0b0', fontSize: '1.01rem', display: 'flex', alignItems: 'center', justifyContent: 'center', gap: '4px', fontFamily: 'Quicksand, sans-serif', mb: 1 }}>
                       <svg width="16" height="16" fill="none" viewBox="0 0 24 24"><path d="M12 2C8.13 2 5 5.13 5 9c0 5.25 7 13 7 13s7-7.75 7-13c0-3.87-3.13-7-7-7zm0 9.5c-1.38 0-2.5-1.12-2.5-2.5s1.12-2.5 2.5-2.5 2.5 1.12 2.5 2.5-1.12 2.5-2.5 2.5z" fill="#b0b0b0"/></svg>
                       {job.location || 'N/A'}
                     </Typography>
+                    <Typography sx={{ color: '#888', fontSize: '0.95rem', fontFamily: 'Quicksand, sans-serif' }}>
+                      {job.applicationCount} {job.applicationCount === 1 ? 'application' : 'applications'}
+                    </Typography>
                   </CardContent>
                   <CardActions sx={{ justifyContent: 'center', pb: 1 }}>
                     <Button size="medium" variant="outlined" className="job-manage-btn">Manage</Button>
@@ -11,7 +11,6 @@ const Course = () => {
   const navigate = useNavigate();
   const [courses, setCourses] = useState([]);
   const [trainers, setTrainers] = useState([]);
-  const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
@@ -33,23 +32,6 @@ const Course = () => {
     fetchCourses();
   }, []);
 
-  useEffect(() => {
-    const fetchUsers = async () => {
-      try {
-        const token = localStorage.getItem('token');
-        const res = await api.get('/user/all', {
-          headers: { Authorization: token ? `${token}` : undefined }
-        });
-        if (Array.isArray(res.data)) {
-          setUsers(res.data);
-        }
-      } catch (err) {
-        setUsers([]);
-      }
-    };
-    fetchUsers();
-  }, []);
-
   useEffect(() => {
     // Show loading spinner for 1.5s on mount
     setLoading(true);
@@ -208,8 +190,8 @@ const Course = () => {
               }
             `}</style>
             {courses.length > 0 ? courses.map((course, idx) => {
-              // Find trainer by trainerId
-              const trainerUser = users.find(u => u.id === course.trainerId);
+              // The catalog carries a summary of each course's trainer
+              const trainerUser = course.trainer;
               return (
                 <Card key={course.id} className="course-card-custom course-card-animate" sx={{ minWidth: 280, maxWidth: 340, flex: '1 1 300px', p: 0, animationDelay: `${idx * 80}ms` }} style={{ animationDelay: `${idx * 80}ms` }}>
                   {/* Course duration */}
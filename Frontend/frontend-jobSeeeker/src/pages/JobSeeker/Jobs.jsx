@@ -47,20 +47,25 @@ const Jobs = () => {
   }, []);
 
   useEffect(() => {
-    const fetchUsers = async () => {
+    const fetchEmployers = async () => {
       try {
         const token = localStorage.getItem('token');
-        const res = await api.get('/user/all', {
-          headers: { Authorization: token ? `${token}` : undefined }
-        });
-        if (Array.isArray(res.data)) {
-          setUsers(res.data);
+        // Only employers are needed, to show each job's company
+        const employers = [];
+        for (let page = 0, totalPages = 1; page < totalPages; page++) {
+          const res = await api.get('/users', {
+            params: { role: 'employer', page, size: 100 },
+            headers: { Authorization: token ? `${token}` : undefined }
+          });
+          employers.push(...res.data.items);
+          totalPages = res.data.totalPages;
         }
+        setUsers(employers);
       } catch (err) {
         setUsers([]);
       }
     };
-    fetchUsers();
+    fetchEmployers();
   }, []);
 
   useEffect(() => {
@@ -71,14 +76,13 @@ const Jobs = () => {
         
         if (!userId) return;
 
-        const res = await api.get('/applications', {
+        const res = await api.get(`/applications/jobseeker/${userId}`, {
           headers: { Authorization: token ? `${token}` : undefined }
         });
         
         if (Array.isArray(res.data)) {
-          // Filter applications by current user and create a set of applied job IDs
-          const userApplications = res.data.filter(app => app.jobSeekerId === parseInt(userId));
-          const appliedJobIds = new Set(userApplications.map(app => app.jobId));
+          // Only the current user's applications come back; keep the IDs of the jobs they applied to
+          const appliedJobIds = new Set(res.data.map(app => app.jobId));
           setAppliedJobs(appliedJobIds);
         }
       } catch (err) {
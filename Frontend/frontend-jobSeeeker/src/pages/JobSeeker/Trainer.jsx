@@ -1,24 +1,33 @@
 // Trainer main page
 import React, { useEffect, useState } from 'react';
 import { api } from '../../api';
-import { AppBar, Toolbar, Box, Button, Typography, Card, CardActions, Avatar, Rating, Fade } from '@mui/material';
+import { AppBar, Toolbar, Box, Button, Typography, Card, CardActions, Avatar, Rating, Fade, Pagination } from '@mui/material';
 import '../../App.css';
 import "@fontsource/quicksand";
 import ProfileButton from '../../components/ProfileButton';
 import { Link } from 'react-router-dom';
 import Navbar from '../../components/Navbar';
 
+const PAGE_SIZE = 20;
+
 const Trainer = () => {
   const [trainers, setTrainers] = useState([]);
   const [loading, setLoading] = useState(true);
   const [cardIn, setCardIn] = useState([]);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
 
   useEffect(() => {
     const fetchTrainers = async () => {
       try {
-        const res = await api.get('/user/all');
-        const trainers = res.data.filter(u => u.role === 'trainer');
+        const token = localStorage.getItem('token');
+        const res = await api.get('/users', {
+          params: { role: 'trainer', page, size: PAGE_SIZE },
+          headers: { Authorization: token ? `${token}` : undefined }
+        });
+        const trainers = res.data.items;
         setTrainers(trainers);
+        setTotalPages(res.data.totalPages);
         setCardIn(Array(trainers.length).fill(false));
         trainers.forEach((_, i) => {
           setTimeout(() => {
@@ -36,7 +45,7 @@ const Trainer = () => {
       }
     };
     fetchTrainers();
-  }, []);
+  }, [page]);
 
   return (
     <Box className="jobs-container" sx={{ minHeight: '100vh', position: 'relative', background: 'linear-gradient(135deg,rgb(0, 0, 0) 0%,rgb(0, 0, 0) 100%)', overflowX: 'hidden', width: '100%', maxWidth: '100%', boxSizing: 'border-box' }}>
@@ -82,7 +91,7 @@ const Trainer = () => {
                   </Typography>
                 </Box>
                 <Typography sx={{ mt: 1, color: '#444', fontSize: '1.05rem' }}>
-                  {trainer.bio || 'No bio available.'}
+                  {trainer.summary || 'No bio available.'}
                 </Typography>
                 <Box sx={{ mt: 1, display: 'flex', gap: 1, flexWrap: 'wrap' }}>
                   {(trainer.skills || ['NLP', 'Python', 'Java', 'C++', 'C']).slice(0, 6).map((skill, i) => (
@@ -103,6 +112,14 @@ const Trainer = () => {
         )) : (
           <Typography sx={{ textAlign: 'center', mt: 4, color: '#fff' }}>No trainers found.</Typography>
         )}
+        {totalPages > 1 && (
+          <Pagination
+            count={totalPages}
+            page={page + 1}
+            onChange={(event, value) => setPage(value - 1)}
+            sx={{ mb: 4, '& .MuiPaginationItem-root': { color: '#fff' } }}
+          />
+        )}
       </Box>
     </Box>
   );